@@ -0,0 +1,172 @@
+package com.hospital_management.hotpital_management.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache with expire-after-write.
+ * <p>
+ * Loads run outside the lock. A loaded value is only stored if its key was not invalidated while it
+ * was being loaded, so a read racing with a write can never put a stale value back after the
+ * writer has invalidated it. Invalidations are tracked per stripe of keys, so writes to one key
+ * only discard in-flight loads of keys sharing its stripe.
+ */
+public class BoundedCache<K, V> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Guarded by this; a load is stored only if both its key's stripe and the bulk generation are unchanged
+    private final long[] keyGenerations = new long[GENERATION_STRIPES];
+    private long bulkGeneration;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BoundedCache(int maxEntries, Duration timeToLive) {
+        this(maxEntries, timeToLive, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxEntries, Duration timeToLive, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = clock.millis();
+        int stripe = stripe(key);
+        long keyGeneration;
+        long bulk;
+        synchronized (this) {
+            Entry<V> entry = liveEntry(key, now);
+            if (entry != null) {
+                return entry.value;
+            }
+            keyGeneration = keyGenerations[stripe];
+            bulk = bulkGeneration;
+        }
+        misses.incrementAndGet();
+
+        V value = loader.get();
+        if (value != null) {
+            synchronized (this) {
+                if (keyGenerations[stripe] == keyGeneration && bulkGeneration == bulk) {
+                    entries.put(key, new Entry<>(value, now + timeToLive.toMillis()));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached values of {@code keys}, loading all missing ones with a single loader call.
+     * Each loaded value follows the same rule as {@link #get}: it is stored only if its key was not
+     * invalidated during the load. Keys the loader leaves out or maps to null are absent from the
+     * result and not cached; extra keys it returns are ignored.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long now = clock.millis();
+        Map<K, V> result = new HashMap<>();
+        Map<K, Long> missing = new HashMap<>();
+        long bulk;
+        synchronized (this) {
+            for (K key : keys) {
+                Entry<V> entry = liveEntry(key, now);
+                if (entry != null) {
+                    result.put(key, entry.value);
+                } else {
+                    missing.put(key, keyGenerations[stripe(key)]);
+                }
+            }
+            bulk = bulkGeneration;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        misses.addAndGet(missing.size());
+
+        Map<K, V> loaded = loader.apply(Set.copyOf(missing.keySet()));
+        synchronized (this) {
+            missing.forEach((key, keyGeneration) -> {
+                V value = loaded.get(key);
+                if (value == null) {
+                    return;
+                }
+                result.put(key, value);
+                if (keyGenerations[stripe(key)] == keyGeneration && bulkGeneration == bulk) {
+                    entries.put(key, new Entry<>(value, now + timeToLive.toMillis()));
+                }
+            });
+        }
+        return result;
+    }
+
+    public void invalidate(K key) {
+        synchronized (this) {
+            keyGenerations[stripe(key)]++;
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (this) {
+            bulkGeneration++;
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        synchronized (this) {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size());
+        }
+    }
+
+    // Caller holds the lock; expired entries are dropped and counted as evictions
+    private Entry<V> liveEntry(K key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt > now) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        entries.remove(key);
+        evictions.incrementAndGet();
+        return null;
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.hospital_management.hotpital_management.config;
+
+import com.hospital_management.hotpital_management.reminder.LoggingReminderSender;
+import com.hospital_management.hotpital_management.reminder.ReminderSender;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReminderConfig {
+
+    // Any other ReminderSender bean (e-mail, SMS, ...) replaces the logging stub
+    @Bean
+    @ConditionalOnMissingBean(ReminderSender.class)
+    public ReminderSender reminderSender() {
+        return new LoggingReminderSender();
+    }
+}
@@ -0,0 +1,44 @@
+package com.hospital_management.hotpital_management.controller;
+
+import com.hospital_management.hotpital_management.importer.ImportFormat;
+import com.hospital_management.hotpital_management.service.DataExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping(path = "/admin/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final DataExportService dataExportService;
+
+    @GetMapping("/patients")
+    public void exportPatients(HttpServletResponse response) throws IOException {
+        prepare(response, "patients.ndjson");
+        dataExportService.exportPatients(response.getOutputStream());
+    }
+
+    @GetMapping("/doctors")
+    public void exportDoctors(HttpServletResponse response) throws IOException {
+        prepare(response, "doctors.ndjson");
+        dataExportService.exportDoctors(response.getOutputStream());
+    }
+
+    @GetMapping("/appointments")
+    public void exportAppointments(HttpServletResponse response) throws IOException {
+        prepare(response, "appointments.ndjson");
+        dataExportService.exportAppointments(response.getOutputStream());
+    }
+
+    private static void prepare(HttpServletResponse response, String fileName) {
+        response.setContentType(ImportFormat.NDJSON.getMediaType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+    }
+}
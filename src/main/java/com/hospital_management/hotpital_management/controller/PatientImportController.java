@@ -0,0 +1,43 @@
+package com.hospital_management.hotpital_management.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital_management.hotpital_management.dto.PatientImportResult;
+import com.hospital_management.hotpital_management.importer.ImportFormat;
+import com.hospital_management.hotpital_management.service.PatientImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+@RestController
+@RequestMapping(path = "/admin/patients")
+@RequiredArgsConstructor
+public class PatientImportController {
+
+    private final PatientImportService patientImportService;
+    private final ObjectMapper objectMapper;
+
+    // Streams the file in and the reject report out as NDJSON; the last line holds the summary
+    @PostMapping(path = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importPatients(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+        response.setContentType(ImportFormat.NDJSON.getMediaType());
+        response.setCharacterEncoding("UTF-8");
+
+        Writer writer = response.getWriter();
+        PatientImportResult result = patientImportService.importPatients(request.getInputStream(), format, writer);
+        writer.write(objectMapper.writeValueAsString(Map.of("summary", result)));
+        writer.write('\n');
+        writer.flush();
+    }
+}
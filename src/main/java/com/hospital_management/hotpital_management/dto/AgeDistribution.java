@@ -0,0 +1,12 @@
+package com.hospital_management.hotpital_management.dto;
+
+// Patient counts per age bracket; unknown counts patients without a recorded birth date
+public record AgeDistribution(
+        Long total,
+        Long under18,
+        Long age18To34,
+        Long age35To49,
+        Long age50To64,
+        Long age65AndOver,
+        Long unknown) {
+}
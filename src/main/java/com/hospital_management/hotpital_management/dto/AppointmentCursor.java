@@ -0,0 +1,7 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDateTime;
+
+// Keyset position on (appointment_time, id)
+public record AppointmentCursor(LocalDateTime appointmentTime, Long id) {
+}
@@ -0,0 +1,10 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDateTime;
+
+public record AppointmentInterval(Long id, Long doctorId, LocalDateTime start, LocalDateTime end) {
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,16 @@
+package com.hospital_management.hotpital_management.dto;
+
+public record AppointmentScheduleResult(int index, Long appointmentId, String error) {
+
+    public static AppointmentScheduleResult scheduled(int index, Long appointmentId) {
+        return new AppointmentScheduleResult(index, appointmentId, null);
+    }
+
+    public static AppointmentScheduleResult failed(int index, String error) {
+        return new AppointmentScheduleResult(index, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDateTime;
+
+public record AppointmentSummary(
+        Long id,
+        LocalDateTime appointmentTime,
+        LocalDateTime endTime,
+        String reason,
+        Long patientId,
+        String patientName,
+        Long doctorId,
+        String doctorName) {
+}
@@ -0,0 +1,5 @@
+package com.hospital_management.hotpital_management.dto;
+
+// category is null for rows where the grouped column is not set
+public record CategoryCount(String category, Long count) {
+}
@@ -0,0 +1,12 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DemographicStatistics(
+        LocalDate asOf,
+        AgeDistribution ages,
+        List<CategoryCount> bloodGroups,
+        List<CategoryCount> genders,
+        List<MonthlyCount> registrationsPerMonth) {
+}
@@ -0,0 +1,7 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.util.List;
+
+// version changes whenever a department, its membership or a member's name changes
+public record DepartmentRoster(long version, List<DepartmentRosterEntry> departments) {
+}
@@ -0,0 +1,19 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.util.List;
+
+// headDoctor is null for departments without a head
+public record DepartmentRosterEntry(
+        Long id,
+        String name,
+        RosterDoctor headDoctor,
+        List<RosterDoctor> members) {
+
+    public DepartmentRosterEntry(Long id, String name, Long headDoctorId, String headDoctorName) {
+        this(id, name, headDoctorId != null ? new RosterDoctor(headDoctorId, headDoctorName) : null, List.of());
+    }
+
+    public DepartmentRosterEntry withMembers(List<RosterDoctor> members) {
+        return new DepartmentRosterEntry(id, name, headDoctor, List.copyOf(members));
+    }
+}
@@ -0,0 +1,11 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDate;
+
+// hour is null for daily buckets
+public record DoctorAppointmentCount(Long doctorId, LocalDate date, Integer hour, Long count) {
+
+    public DoctorAppointmentCount(Long doctorId, LocalDate date, Long count) {
+        this(doctorId, date, null, count);
+    }
+}
@@ -0,0 +1,14 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Minute totals for one day; booked minutes outside the duty hours are not subtracted from free time
+public record DoctorDailyAvailability(
+        Long doctorId,
+        LocalDate date,
+        int onDutyMinutes,
+        int bookedMinutes,
+        int freeMinutes,
+        List<TimeSlot> freeWindows) {
+}
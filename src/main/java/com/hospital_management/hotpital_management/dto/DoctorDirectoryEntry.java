@@ -0,0 +1,20 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.util.Set;
+
+// Immutable snapshot of a doctor held by the directory cache
+public record DoctorDirectoryEntry(
+        Long id,
+        String name,
+        String email,
+        String specialization,
+        Set<Long> departmentIds) {
+
+    public DoctorDirectoryEntry(Long id, String name, String email, String specialization) {
+        this(id, name, email, specialization, Set.of());
+    }
+
+    public DoctorDirectoryEntry withDepartmentIds(Set<Long> departmentIds) {
+        return new DoctorDirectoryEntry(id, name, email, specialization, Set.copyOf(departmentIds));
+    }
+}
@@ -0,0 +1,4 @@
+package com.hospital_management.hotpital_management.dto;
+
+public record DoctorExportRow(Long id, String name, String email, String specialization) {
+}
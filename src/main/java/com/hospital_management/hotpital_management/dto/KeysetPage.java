@@ -0,0 +1,10 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> content, AppointmentCursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
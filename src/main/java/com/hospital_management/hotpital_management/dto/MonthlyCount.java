@@ -0,0 +1,4 @@
+package com.hospital_management.hotpital_management.dto;
+
+public record MonthlyCount(Integer year, Integer month, Long count) {
+}
@@ -0,0 +1,20 @@
+package com.hospital_management.hotpital_management.dto;
+
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Insurance fields are null for patients without a policy
+public record PatientExportRow(
+        Long id,
+        String name,
+        String email,
+        String gender,
+        LocalDate birthDate,
+        BloodGroupType bloodGroup,
+        LocalDateTime createdAt,
+        String insurancePolicyNumber,
+        String insuranceProvider,
+        LocalDate insuranceValidUntil) {
+}
@@ -0,0 +1,5 @@
+package com.hospital_management.hotpital_management.dto;
+
+// One line of the NDJSON reject report
+public record PatientImportReject(long line, String email, String reason) {
+}
@@ -0,0 +1,8 @@
+package com.hospital_management.hotpital_management.dto;
+
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
+
+import java.time.LocalDate;
+
+public record PatientSearchResult(Long id, String name, LocalDate birthDate, BloodGroupType bloodGroup, Double score) {
+}
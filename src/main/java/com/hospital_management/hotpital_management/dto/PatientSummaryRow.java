@@ -0,0 +1,26 @@
+package com.hospital_management.hotpital_management.dto;
+
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One row per upcoming appointment (or a single row without one); insurance and appointment fields may be null
+public record PatientSummaryRow(
+        Long id,
+        String name,
+        String email,
+        String gender,
+        LocalDate birthDate,
+        BloodGroupType bloodGroup,
+        String insurancePolicyNumber,
+        String insuranceProvider,
+        LocalDate insuranceValidUntil,
+        Long appointmentId,
+        LocalDateTime appointmentTime,
+        LocalDateTime appointmentEndTime,
+        String appointmentReason,
+        Long doctorId,
+        String doctorName,
+        String doctorSpecialization) {
+}
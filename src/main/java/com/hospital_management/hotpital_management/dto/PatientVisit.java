@@ -0,0 +1,13 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDateTime;
+
+public record PatientVisit(
+        Long appointmentId,
+        LocalDateTime appointmentTime,
+        LocalDateTime endTime,
+        String reason,
+        Long doctorId,
+        String doctorName,
+        String doctorSpecialization) {
+}
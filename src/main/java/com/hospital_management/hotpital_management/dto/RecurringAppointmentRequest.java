@@ -0,0 +1,20 @@
+package com.hospital_management.hotpital_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringAppointmentRequest {
+    private Long patientId;
+    private Long doctorId;
+    private LocalDateTime firstAppointmentTime;
+    private Integer durationMinutes;
+    private int intervalDays = 7;
+    private int occurrences;
+    private String reason;
+}
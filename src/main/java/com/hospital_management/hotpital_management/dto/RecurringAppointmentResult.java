@@ -0,0 +1,13 @@
+package com.hospital_management.hotpital_management.dto;
+
+import com.hospital_management.hotpital_management.model.Appointment;
+
+import java.util.List;
+
+// Either every occurrence was scheduled, or none was and the conflicting occurrences are reported
+public record RecurringAppointmentResult(List<Appointment> scheduled, List<TimeSlot> conflicts) {
+
+    public boolean isScheduled() {
+        return conflicts.isEmpty();
+    }
+}
@@ -0,0 +1,6 @@
+package com.hospital_management.hotpital_management.dto;
+
+import java.time.LocalDateTime;
+
+public record TimeSlot(LocalDateTime start, LocalDateTime end) {
+}
@@ -0,0 +1,7 @@
+package com.hospital_management.hotpital_management.error;
+
+public class AppointmentConflictException extends IllegalArgumentException {
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hospital_management.hotpital_management.error;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class ConstraintViolations {
+
+    private static final Pattern QUOTED_NAME = Pattern.compile("\"([^\"]+)\"");
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isViolationOf(Throwable ex, String constraintName) {
+        return isViolationMatching(ex, Pattern.compile(Pattern.quote(constraintName), Pattern.CASE_INSENSITIVE));
+    }
+
+    // For constraints repeated under derived names, e.g. one per table partition
+    public static boolean isViolationMatching(Throwable ex, Pattern constraintName) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && constraintName.matcher(violation.getConstraintName()).matches()) {
+                return true;
+            }
+            // Hibernate does not extract names for every SQL state (e.g. exclusion constraints)
+            if (cause instanceof SQLException sqlException && sqlException.getMessage() != null) {
+                Matcher quoted = QUOTED_NAME.matcher(sqlException.getMessage());
+                while (quoted.find()) {
+                    if (constraintName.matcher(quoted.group(1)).matches()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
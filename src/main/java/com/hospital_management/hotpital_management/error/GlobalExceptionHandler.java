@@ -37,6 +37,12 @@ public class GlobalExceptionHandler {
                 .body(ApiError.of("Access denied: Insufficient permissions", HttpStatus.FORBIDDEN, request.getRequestURI()));
     }
 
+    @ExceptionHandler(AppointmentConflictException.class)
+    public ResponseEntity<ApiError> handleAppointmentConflict(AppointmentConflictException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiError.of("Appointment conflict: " + ex.getMessage(), HttpStatus.CONFLICT, request.getRequestURI()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,19 @@
+package com.hospital_management.hotpital_management.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+public class AppointmentAuditListener implements AppointmentEventListener {
+
+    @Override
+    public void onEvents(List<AppointmentEvent> events) {
+        for (AppointmentEvent event : events) {
+            log.info("Appointment {} {}: patient {}, doctor {}, {} - {}", event.appointmentId(), event.type(),
+                    event.patientId(), event.doctorId(), event.appointmentTime(), event.endTime());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.hospital_management.hotpital_management.event;
+
+import com.hospital_management.hotpital_management.model.Appointment;
+
+import java.time.LocalDateTime;
+
+// previousDoctorId / previousAppointmentTime are only set for RESCHEDULED
+public record AppointmentEvent(
+        AppointmentEventType type,
+        Long appointmentId,
+        Long patientId,
+        Long doctorId,
+        LocalDateTime appointmentTime,
+        LocalDateTime endTime,
+        Long previousDoctorId,
+        LocalDateTime previousAppointmentTime,
+        LocalDateTime occurredAt) {
+
+    public static AppointmentEvent scheduled(Appointment appointment) {
+        return of(AppointmentEventType.SCHEDULED, appointment, null, null);
+    }
+
+    public static AppointmentEvent rescheduled(Appointment appointment, Long previousDoctorId,
+                                               LocalDateTime previousAppointmentTime) {
+        return of(AppointmentEventType.RESCHEDULED, appointment, previousDoctorId, previousAppointmentTime);
+    }
+
+    public static AppointmentEvent cancelled(Appointment appointment) {
+        return of(AppointmentEventType.CANCELLED, appointment, null, null);
+    }
+
+    private static AppointmentEvent of(AppointmentEventType type, Appointment appointment, Long previousDoctorId,
+                                       LocalDateTime previousAppointmentTime) {
+        return new AppointmentEvent(type, appointment.getId(), appointment.getPatient().getId(),
+                appointment.getDoctor().getId(), appointment.getAppointmentTime(), appointment.resolveEndTime(),
+                previousDoctorId, previousAppointmentTime, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.hospital_management.hotpital_management.event;
+
+import java.util.List;
+
+/**
+ * Receives committed appointment events in batches on the pipeline's consumer thread,
+ * in publication order. When the buffer is full a publisher may deliver on its own thread,
+ * so implementations must be thread-safe and must not block for long. The list is immutable
+ * and may be kept or handed to another thread.
+ */
+public interface AppointmentEventListener {
+    void onEvents(List<AppointmentEvent> events);
+}
@@ -0,0 +1,128 @@
+package com.hospital_management.hotpital_management.event;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous in-process pipeline for appointment events.
+ * <p>
+ * Events go into a bounded ring buffer and a single consumer thread drains them in batches,
+ * handing every batch to each {@link AppointmentEventListener} in publication order. When the
+ * buffer is full the publisher waits up to the configured timeout (backpressure) and then
+ * delivers the event on its own thread rather than dropping it.
+ */
+@Slf4j
+@Component
+public class AppointmentEventPipeline {
+
+    private final List<AppointmentEventListener> listeners;
+    private final BlockingQueue<AppointmentEvent> buffer;
+    private final int maxBatchSize;
+    private final long publishTimeoutMillis;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong deliveredInline = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread consumer;
+
+    public AppointmentEventPipeline(List<AppointmentEventListener> listeners,
+                                    @Value("${appointment.events.capacity:4096}") int capacity,
+                                    @Value("${appointment.events.max-batch-size:256}") int maxBatchSize,
+                                    @Value("${appointment.events.publish-timeout-ms:50}") long publishTimeoutMillis) {
+        this.listeners = listeners;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.publishTimeoutMillis = publishTimeoutMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        consumer = new Thread(this::consume, "appointment-events");
+        consumer.setDaemon(true);
+        consumer.start();
+        log.info("Appointment event pipeline started with {} listeners", listeners.size());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        consumer.interrupt();
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+        // Deliver whatever was still buffered
+        List<AppointmentEvent> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            dispatch(remaining);
+        }
+    }
+
+    public void publish(AppointmentEvent event) {
+        published.incrementAndGet();
+        try {
+            if (buffer.offer(event, publishTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Appointment event buffer full, delivering event {} inline", event.appointmentId());
+        deliveredInline.incrementAndGet();
+        dispatch(List.of(event));
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDeliveredInlineCount() {
+        return deliveredInline.get();
+    }
+
+    public int getBacklog() {
+        return buffer.size();
+    }
+
+    private void consume() {
+        List<AppointmentEvent> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(buffer.take());
+                buffer.drainTo(batch, maxBatchSize - 1);
+                dispatch(batch);
+            } catch (InterruptedException ex) {
+                if (!batch.isEmpty()) {
+                    dispatch(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<AppointmentEvent> batch) {
+        // The consumer reuses its batch list, so listeners get an immutable copy they may keep
+        List<AppointmentEvent> events = List.copyOf(batch);
+        for (AppointmentEventListener listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException ex) {
+                log.error("Appointment event listener {} failed on {} events", listener.getClass().getSimpleName(),
+                        events.size(), ex);
+            }
+        }
+    }
+}
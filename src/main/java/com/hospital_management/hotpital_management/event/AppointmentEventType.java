@@ -0,0 +1,7 @@
+package com.hospital_management.hotpital_management.event;
+
+public enum AppointmentEventType {
+    SCHEDULED,
+    RESCHEDULED,
+    CANCELLED
+}
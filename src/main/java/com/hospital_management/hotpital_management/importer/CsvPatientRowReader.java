@@ -0,0 +1,174 @@
+package com.hospital_management.hotpital_management.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV reader: a header row naming the columns (name, email, birthDate, gender,
+ * bloodGroup; any order, case-insensitive) followed by one patient per record. Quoted
+ * fields may contain commas, doubled quotes and line breaks. A record with an oversized or
+ * unterminated field comes back as a malformed row and reading resumes on the next line.
+ */
+public class CsvPatientRowReader implements PatientRowReader {
+
+    // Bounds the memory a runaway quoted field can take
+    private static final int MAX_FIELD_LENGTH = 4096;
+
+    private final Reader reader;
+    private Map<String, Integer> columns;
+    private long line = 1;
+    private String recordError;
+    // Input consumed by a failed quoted field that has to be read again after resyncing
+    private String replay = "";
+    private int replayPos;
+
+    public CsvPatientRowReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public PatientImportRow next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            if (recordError != null) {
+                throw new IllegalArgumentException("Malformed CSV header: " + recordError);
+            }
+            columns = indexColumns(header);
+        }
+        while (true) {
+            long recordLine = line;
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (recordError != null) {
+                return PatientImportRow.malformed(recordLine, recordError);
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            return new PatientImportRow(recordLine, value(record, "name"), value(record, "email"),
+                    value(record, "birthdate"), value(record, "gender"), value(record, "bloodgroup"), null);
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordError = null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        StringBuilder quotedRaw = new StringBuilder();
+        long quoteLine = line;
+        boolean quoted = false;
+        while (true) {
+            if (field.length() > MAX_FIELD_LENGTH) {
+                recordError = "CSV field longer than " + MAX_FIELD_LENGTH + " characters";
+                if (quoted) {
+                    resyncAfterQuote(quotedRaw, quoteLine, c);
+                } else {
+                    skipRestOfLine(c);
+                }
+                return fields;
+            }
+            if (quoted) {
+                if (c == -1) {
+                    recordError = "Unterminated quoted CSV field";
+                    resyncAfterQuote(quotedRaw, quoteLine, c);
+                    return fields;
+                }
+                quotedRaw.append((char) c);
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    quotedRaw.append((char) c);
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                quotedRaw.setLength(0);
+                quoteLine = line;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // A quote that never closes would swallow the rest of the file, so everything after its first line break is read again
+    private void resyncAfterQuote(StringBuilder quotedRaw, long quoteLine, int c) throws IOException {
+        int lineBreak = quotedRaw.indexOf("\n");
+        if (lineBreak < 0) {
+            skipRestOfLine(c);
+            return;
+        }
+        if (c != -1) {
+            quotedRaw.append((char) c);
+        }
+        replay = quotedRaw.substring(lineBreak + 1) + replay.substring(replayPos);
+        replayPos = 0;
+        line = quoteLine + 1;
+    }
+
+    private void skipRestOfLine(int c) throws IOException {
+        while (c != '\n' && c != -1) {
+            c = read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (replayPos < replay.length()) {
+            return replay.charAt(replayPos++);
+        }
+        return reader.read();
+    }
+
+    private static Map<String, Integer> indexColumns(List<String> header) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Excel prefixes UTF-8 exports with a byte order mark
+            index.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!index.containsKey("name") || !index.containsKey("email")) {
+            throw new IllegalArgumentException("CSV header must contain name and email columns");
+        }
+        return index;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer position = columns.get(column);
+        if (position == null || position >= record.size()) {
+            return null;
+        }
+        String value = record.get(position);
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,88 @@
+package com.hospital_management.hotpital_management.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Newline-delimited JSON reader: one patient object per line, blank lines skipped. A line
+ * longer than the cap is drained without being buffered and comes back as a malformed row.
+ */
+public class NdjsonPatientRowReader implements PatientRowReader {
+
+    // Bounds the memory a runaway or newline-free line can take
+    private static final int MAX_LINE_LENGTH = 16_384;
+
+    // readLine outcomes
+    private static final int EOF = -1;
+    private static final int OK = 0;
+    private static final int TOO_LONG = 1;
+
+    private final Reader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder text = new StringBuilder();
+    private long line;
+
+    public NdjsonPatientRowReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public PatientImportRow next() throws IOException {
+        int status;
+        while ((status = readLine()) != EOF) {
+            line++;
+            if (status == TOO_LONG) {
+                return PatientImportRow.malformed(line, "Line longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            if (text.toString().isBlank()) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(text.toString());
+                if (!node.isObject()) {
+                    return PatientImportRow.malformed(line, "Expected a JSON object");
+                }
+                return new PatientImportRow(line, field(node, "name"), field(node, "email"),
+                        field(node, "birthDate"), field(node, "gender"), field(node, "bloodGroup"), null);
+            } catch (JsonProcessingException ex) {
+                return PatientImportRow.malformed(line, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    // Reads the next line into text, keeping at most MAX_LINE_LENGTH characters of it
+    private int readLine() throws IOException {
+        text.setLength(0);
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return EOF;
+        }
+        while (c != '\n' && c != -1) {
+            if (!tooLong) {
+                if (text.length() == MAX_LINE_LENGTH) {
+                    tooLong = true;
+                    text.setLength(0);
+                } else {
+                    text.append((char) c);
+                }
+            }
+            c = reader.read();
+        }
+        if (!tooLong && !text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+        }
+        return tooLong ? TOO_LONG : OK;
+    }
+
+    private static String field(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hospital_management.hotpital_management.importer;
+
+// Raw field values as read from the file; error is set when the row could not be parsed at all
+public record PatientImportRow(
+        long line,
+        String name,
+        String email,
+        String birthDate,
+        String gender,
+        String bloodGroup,
+        String error) {
+
+    public static PatientImportRow malformed(long line, String error) {
+        return new PatientImportRow(line, null, null, null, null, null, error);
+    }
+}
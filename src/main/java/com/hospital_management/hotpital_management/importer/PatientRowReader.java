@@ -0,0 +1,12 @@
+package com.hospital_management.hotpital_management.importer;
+
+import java.io.IOException;
+
+/**
+ * Reads an import file one row at a time, so only the current row is held in memory.
+ */
+public interface PatientRowReader {
+
+    // Returns null once the input is exhausted
+    PatientImportRow next() throws IOException;
+}
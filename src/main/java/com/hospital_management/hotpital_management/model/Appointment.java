@@ -12,22 +12,60 @@ import java.time.LocalDateTime;
 @Setter
 @ToString
 @Builder
+@Table(
+        name = "appointment",
+        indexes = {
+                @Index(name = "idx_appointment_time_id", columnList = "appointmentTime, id"),
+                @Index(name = "idx_appointment_doctor_time_id", columnList = "doctor_id, appointmentTime, id"),
+                @Index(name = "idx_appointment_patient_time_id", columnList = "patient_id, appointmentTime, id")
+        }
+)
 public class Appointment {
+
+    public static final int DEFAULT_DURATION_MINUTES = 30;
+    public static final int MAX_DURATION_MINUTES = 480;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (pooled) let Hibernate batch inserts, IDENTITY forces one round trip per row
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private LocalDateTime appointmentTime;
 
+    @Column(nullable = false)
+    private Integer durationMinutes;
+
+    // Derived from appointmentTime + durationMinutes, kept as a column for overlap queries
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
     @Column(length = 400)
     private String reason;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
+    @ToString.Exclude
     private Patient patient;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false)
+    @ToString.Exclude
     private Doctor doctor;
+
+    public int resolveDurationMinutes() {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    public LocalDateTime resolveEndTime() {
+        return appointmentTime.plusMinutes(resolveDurationMinutes());
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void syncEndTime() {
+        durationMinutes = resolveDurationMinutes();
+        endTime = resolveEndTime();
+    }
 }
@@ -12,6 +12,10 @@ import java.util.Set;
 @Getter
 @Setter
 @ToString
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "unique_doctor_email", columnNames = {"email"}),
+        indexes = @Index(name = "idx_doctor_specialization_id", columnList = "specialization_id")
+)
 public class Doctor {
 
     @Id
@@ -24,7 +28,13 @@ public class Doctor {
     @Column(length = 100)
     private String specialization;
 
-    @Column(nullable = false, unique  = true, length = 100)
+    // Catalogue entry for specialization, kept in step by DoctorService
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "specialization_id")
+    @ToString.Exclude
+    private Specialization specializationRef;
+
+    @Column(nullable = false, length = 100)
     private String email;
 
     @ManyToMany(mappedBy = "doctors")
@@ -0,0 +1,38 @@
+package com.hospital_management.hotpital_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Builder
+@Table(
+        name = "doctor_leave",
+        indexes = @Index(name = "idx_doctor_leave_doctor_end", columnList = "doctor_id, endTime")
+)
+public class DoctorLeave {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    @ToString.Exclude
+    private Doctor doctor;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(length = 200)
+    private String reason;
+}
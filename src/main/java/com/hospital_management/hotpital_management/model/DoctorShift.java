@@ -0,0 +1,47 @@
+package com.hospital_management.hotpital_management.model;
+
+import com.hospital_management.hotpital_management.model.enums.ShiftType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+// One block of a doctor's weekly roster; an end at or before the start runs past midnight
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Builder
+@Table(
+        name = "doctor_shift",
+        indexes = @Index(name = "idx_doctor_shift_doctor", columnList = "doctor_id")
+)
+public class DoctorShift {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    @ToString.Exclude
+    private Doctor doctor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    // Breaks are cut out of the working shifts of the same roster
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ShiftType type;
+}
@@ -14,13 +14,14 @@ import java.time.LocalDateTime;
 @Setter
 @ToString
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "unique_insurance_policy_number", columnNames = {"policy_number"}))
 public class Insurance {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String policyNumber;
 
     @Column(nullable = false, length = 100)
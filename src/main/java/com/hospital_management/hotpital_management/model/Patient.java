@@ -22,7 +22,8 @@ import java.util.List;
                 @UniqueConstraint(name = "unique_patient_name_birthdate", columnNames = {"name", "birth_date"})
         },
         indexes = {
-                @Index(name = "idx_patient_birth_date", columnList = "birth_date")
+                @Index(name = "idx_patient_birth_date", columnList = "birth_date"),
+                @Index(name = "idx_patient_created_at", columnList = "createdAt")
         }
 )
 public class Patient {
@@ -37,7 +38,7 @@ public class Patient {
     @Column(name = "birth_date")
     private LocalDate birthDate;
 
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
 
     private String gender;
@@ -0,0 +1,26 @@
+package com.hospital_management.hotpital_management.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Table(uniqueConstraints = @UniqueConstraint(name = "unique_specialization_normalized_name", columnNames = {"normalized_name"}))
+public class Specialization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Display form, as first entered
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Trimmed, whitespace-collapsed and lower-cased; the unique index doubles as the lookup index
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+}
@@ -0,0 +1,6 @@
+package com.hospital_management.hotpital_management.model.enums;
+
+public enum ShiftType {
+    WORKING,
+    BREAK
+}
@@ -0,0 +1,22 @@
+package com.hospital_management.hotpital_management.reminder;
+
+import com.hospital_management.hotpital_management.dto.UpcomingAppointment;
+
+import java.time.LocalDateTime;
+
+public record AppointmentReminder(
+        ReminderType type,
+        Long appointmentId,
+        Long patientId,
+        Long doctorId,
+        LocalDateTime appointmentTime) {
+
+    public static AppointmentReminder of(ReminderType type, UpcomingAppointment appointment) {
+        return new AppointmentReminder(type, appointment.id(), appointment.patientId(), appointment.doctorId(),
+                appointment.appointmentTime());
+    }
+
+    public LocalDateTime sendAt() {
+        return appointmentTime.minus(type.getLead());
+    }
+}
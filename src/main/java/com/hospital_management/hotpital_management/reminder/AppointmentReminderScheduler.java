@@ -0,0 +1,201 @@
+package com.hospital_management.hotpital_management.reminder;
+
+import com.hospital_management.hotpital_management.dto.UpcomingAppointment;
+import com.hospital_management.hotpital_management.event.AppointmentEvent;
+import com.hospital_management.hotpital_management.event.AppointmentEventListener;
+import com.hospital_management.hotpital_management.event.AppointmentEventType;
+import com.hospital_management.hotpital_management.repository.AppointmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends appointment reminders a day and an hour ahead through the configured {@link ReminderSender}.
+ * <p>
+ * Only reminders due within the loaded window are held, in a hierarchical {@link TimingWheel}, so
+ * memory is bounded by the window rather than the table and each tick costs O(1). The window is
+ * extended in keyset-paged chunks as time moves on, and committed appointment events keep the
+ * wheel in sync in between. Reminders whose time has already passed are not sent.
+ * <p>
+ * The lock only guards the wheel: window loads and sending happen outside it, so a slow query
+ * never holds up the event pipeline. Events arriving during a load win over the loaded rows.
+ */
+@Slf4j
+@Component
+public class AppointmentReminderScheduler implements AppointmentEventListener {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ReminderSender reminderSender;
+    private final Duration window;
+    private final int chunkSize;
+    private final TimingWheel<AppointmentReminder> wheel;
+    private final Map<Long, Map<ReminderType, TimingWheel.Timeout<AppointmentReminder>>> pending = new HashMap<>();
+
+    // Every reminder due before this instant is in the wheel
+    private LocalDateTime loadedUntil;
+    // Set while a window load runs outside the lock; the appointments events touched in the meantime
+    private LocalDateTime loadingUntil;
+    private Set<Long> touchedWhileLoading;
+
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+                                        ReminderSender reminderSender,
+                                        @Value("${appointment.reminders.window-hours:6}") long windowHours,
+                                        @Value("${appointment.reminders.chunk-size:500}") int chunkSize,
+                                        @Value("${appointment.reminders.tick-millis:1000}") long tickMillis,
+                                        @Value("${appointment.reminders.wheel-size:60}") int wheelSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.reminderSender = reminderSender;
+        this.window = Duration.ofHours(windowHours);
+        this.chunkSize = chunkSize;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, toEpochMillis(LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${appointment.reminders.tick-millis:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime loadFrom = null;
+        LocalDateTime loadTo = now.plus(window);
+        synchronized (this) {
+            if (loadedUntil == null || !now.plus(window.dividedBy(2)).isBefore(loadedUntil)) {
+                loadFrom = loadedUntil == null ? now : loadedUntil;
+                loadingUntil = loadTo;
+                touchedWhileLoading = new HashSet<>();
+            }
+        }
+        if (loadFrom != null) {
+            extendWindow(loadFrom, loadTo);
+        }
+
+        List<AppointmentReminder> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(toEpochMillis(now), reminder -> {
+                forget(reminder.appointmentId(), reminder.type());
+                due.add(reminder);
+            });
+        }
+        due.forEach(this::send);
+    }
+
+    @Override
+    public synchronized void onEvents(List<AppointmentEvent> events) {
+        LocalDateTime until = loadingUntil != null ? loadingUntil : loadedUntil;
+        if (until == null) {
+            // The first window load reads the committed state anyway
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (AppointmentEvent event : events) {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.add(event.appointmentId());
+            }
+            cancel(event.appointmentId());
+            if (event.type() == AppointmentEventType.CANCELLED) {
+                continue;
+            }
+            UpcomingAppointment appointment = new UpcomingAppointment(event.appointmentId(), event.patientId(),
+                    event.doctorId(), event.appointmentTime());
+            for (ReminderType type : ReminderType.values()) {
+                AppointmentReminder reminder = AppointmentReminder.of(type, appointment);
+                // Reminders beyond the window are picked up when it is extended
+                if (!reminder.sendAt().isBefore(now) && reminder.sendAt().isBefore(until)) {
+                    schedule(reminder);
+                }
+            }
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    // Runs without the lock; only the final merge into the wheel takes it
+    private void extendWindow(LocalDateTime from, LocalDateTime to) {
+        List<AppointmentReminder> loaded = new ArrayList<>();
+        try {
+            for (ReminderType type : ReminderType.values()) {
+                loadReminders(type, from.plus(type.getLead()), to.plus(type.getLead()), loaded);
+            }
+            synchronized (this) {
+                // Events seen during the load are newer than or as new as the rows read for those appointments
+                loaded.stream()
+                        .filter(reminder -> !touchedWhileLoading.contains(reminder.appointmentId()))
+                        .forEach(this::schedule);
+                loadedUntil = to;
+                log.debug("Reminder window extended to {} with {} reminders, {} pending", to, loaded.size(), wheel.size());
+            }
+        } finally {
+            synchronized (this) {
+                loadingUntil = null;
+                touchedWhileLoading = null;
+            }
+        }
+    }
+
+    private void loadReminders(ReminderType type, LocalDateTime from, LocalDateTime to, List<AppointmentReminder> loaded) {
+        LocalDateTime afterTime = from;
+        Long afterId = Long.MIN_VALUE;
+        while (true) {
+            List<UpcomingAppointment> chunk = appointmentRepository.findUpcomingAfterCursor(
+                    to, afterTime, afterId, Limit.of(chunkSize));
+            chunk.forEach(appointment -> loaded.add(AppointmentReminder.of(type, appointment)));
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            UpcomingAppointment last = chunk.get(chunk.size() - 1);
+            afterTime = last.appointmentTime();
+            afterId = last.id();
+        }
+    }
+
+    private void schedule(AppointmentReminder reminder) {
+        Map<ReminderType, TimingWheel.Timeout<AppointmentReminder>> reminders =
+                pending.computeIfAbsent(reminder.appointmentId(), id -> new EnumMap<>(ReminderType.class));
+        TimingWheel.Timeout<AppointmentReminder> existing = reminders.get(reminder.type());
+        if (existing != null) {
+            wheel.cancel(existing);
+        }
+        reminders.put(reminder.type(), wheel.schedule(toEpochMillis(reminder.sendAt()), reminder));
+    }
+
+    private void cancel(Long appointmentId) {
+        Map<ReminderType, TimingWheel.Timeout<AppointmentReminder>> reminders = pending.remove(appointmentId);
+        if (reminders != null) {
+            reminders.values().forEach(wheel::cancel);
+        }
+    }
+
+    private void forget(Long appointmentId, ReminderType type) {
+        Map<ReminderType, TimingWheel.Timeout<AppointmentReminder>> reminders = pending.get(appointmentId);
+        if (reminders != null) {
+            reminders.remove(type);
+            if (reminders.isEmpty()) {
+                pending.remove(appointmentId);
+            }
+        }
+    }
+
+    private void send(AppointmentReminder reminder) {
+        try {
+            reminderSender.send(reminder);
+        } catch (RuntimeException ex) {
+            log.error("Failed to send {} reminder for appointment {}", reminder.type(), reminder.appointmentId(), ex);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hospital_management.hotpital_management.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in used until a real transport is configured
+@Slf4j
+public class LoggingReminderSender implements ReminderSender {
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    public void send(AppointmentReminder reminder) {
+        sent.incrementAndGet();
+        log.info("Reminder {} for appointment {}: patient {}, doctor {}, at {}", reminder.type(),
+                reminder.appointmentId(), reminder.patientId(), reminder.doctorId(), reminder.appointmentTime());
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.hospital_management.hotpital_management.reminder;
+
+/**
+ * Delivers a due appointment reminder (e-mail, SMS, push, ...). Called on the reminder
+ * scheduler's thread, so slow transports should hand off rather than block.
+ */
+public interface ReminderSender {
+
+    void send(AppointmentReminder reminder);
+}
@@ -0,0 +1,171 @@
+package com.hospital_management.hotpital_management.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel over epoch milliseconds (Varghese &amp; Lauck).
+ * <p>
+ * Level 0 has {@code wheelSize} buckets one tick wide; each higher level is created on demand
+ * with buckets as wide as the whole level below it. Scheduling and cancelling are O(1), and a
+ * tick only flushes the buckets whose time has come, cascading entries from higher levels down
+ * as they approach. Not thread-safe.
+ */
+final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level> levels = new ArrayList<>();
+    private final Bucket<T> overdue = new Bucket<>();
+
+    private long currentTime;
+    private int size;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - startMillis % tickMillis;
+        levels.add(new Level(tickMillis));
+    }
+
+    // Deadlines round up to the next tick so nothing fires early; entries already due go out on the next advance
+    Timeout<T> schedule(long deadlineMillis, T payload) {
+        long deadline = Math.ceilDiv(deadlineMillis, tickMillis) * tickMillis;
+        Timeout<T> timeout = new Timeout<>(deadline, payload);
+        if (!place(timeout)) {
+            overdue.add(timeout);
+        }
+        size++;
+        return timeout;
+    }
+
+    boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    void advanceTo(long nowMillis, Consumer<T> expired) {
+        Consumer<Timeout<T>> cascade = timeout -> {
+            if (!place(timeout)) {
+                size--;
+                expired.accept(timeout.payload);
+            }
+        };
+        overdue.drainTo(cascade);
+
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+            for (Level level : levels) {
+                level.currentTime = currentTime - currentTime % level.tick;
+            }
+            // Highest level first so cascaded entries land before the lower buckets are flushed
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                Level level = levels.get(i);
+                if (currentTime % level.tick == 0) {
+                    level.bucketFor(currentTime).drainTo(cascade);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean place(Timeout<T> timeout) {
+        if (timeout.deadline <= currentTime) {
+            return false;
+        }
+        for (int i = 0; ; i++) {
+            Level level = i < levels.size() ? levels.get(i) : addLevel();
+            if (timeout.deadline < level.currentTime + level.interval) {
+                level.bucketFor(timeout.deadline).add(timeout);
+                return true;
+            }
+        }
+    }
+
+    private Level addLevel() {
+        Level level = new Level(levels.get(levels.size() - 1).interval);
+        levels.add(level);
+        return level;
+    }
+
+    private final class Level {
+        private final long tick;
+        private final long interval;
+        private final List<Bucket<T>> buckets = new ArrayList<>();
+        private long currentTime;
+
+        private Level(long tick) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.currentTime = TimingWheel.this.currentTime - TimingWheel.this.currentTime % tick;
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+        }
+
+        private Bucket<T> bucketFor(long time) {
+            return buckets.get((int) ((time / tick) % wheelSize));
+        }
+    }
+
+    static final class Timeout<T> {
+        private final long deadline;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        T payload() {
+            return payload;
+        }
+    }
+
+    // Intrusive doubly-linked list so an entry can unlink itself without a search
+    private static final class Bucket<T> {
+        private final Timeout<T> head = new Timeout<>(0, null);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private void drainTo(Consumer<Timeout<T>> sink) {
+            Timeout<T> timeout = head.next;
+            while (timeout != head) {
+                Timeout<T> next = timeout.next;
+                remove(timeout);
+                sink.accept(timeout);
+                timeout = next;
+            }
+        }
+    }
+}
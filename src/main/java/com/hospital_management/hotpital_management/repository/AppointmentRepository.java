@@ -1,13 +1,23 @@
 package com.hospital_management.hotpital_management.repository;
 
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.dto.AppointmentSummary;
+import com.hospital_management.hotpital_management.dto.DoctorAppointmentCount;
+import com.hospital_management.hotpital_management.dto.UpcomingAppointment;
 import com.hospital_management.hotpital_management.model.Appointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -22,21 +32,179 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
 
     List<Appointment> findByPatientIdAndAppointmentTimeAfterOrderByAppointmentTimeAsc(Long patientId, LocalDateTime now);
 
+    // Keyset (seek) pagination on (appointment_time, id)
+    List<Appointment> findByAppointmentTimeBetweenOrderByAppointmentTimeAscIdAsc(
+            LocalDateTime startDateTime, LocalDateTime endDateTime, Limit limit);
+
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentTime <= :endTime " +
+            "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Appointment> findByAppointmentTimeAfterCursor(
+            @Param("endTime") LocalDateTime endDateTime,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    List<Appointment> findByDoctorIdOrderByAppointmentTimeAscIdAsc(Long doctorId, Limit limit);
+
     @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId " +
-            "AND a.appointmentTime BETWEEN :startTime AND :endTime " +
-            "AND a.id != :excludeAppointmentId")
-    List<Appointment> findConflictingAppointmentsExcluding(
+            "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<Appointment> findByDoctorIdAfterCursor(
+            @Param("doctorId") Long doctorId,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    List<Appointment> findByPatientIdOrderByAppointmentTimeDescIdDesc(Long patientId, Limit limit);
+
+    @Query("SELECT a FROM Appointment a WHERE a.patient.id = :patientId " +
+            "AND (a.appointmentTime < :beforeTime OR (a.appointmentTime = :beforeTime AND a.id < :beforeId)) " +
+            "ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<Appointment> findByPatientIdBeforeCursor(
+            @Param("patientId") Long patientId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentTime BETWEEN :startTime AND :endTime " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    Stream<Appointment> streamByAppointmentTimeBetween(
+            @Param("startTime") LocalDateTime startDateTime,
+            @Param("endTime") LocalDateTime endDateTime);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentSummary(" +
+            "a.id, a.appointmentTime, a.endTime, a.reason, p.id, p.name, d.id, d.name) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.doctor d ORDER BY a.appointmentTime ASC, a.id ASC")
+    Stream<AppointmentSummary> streamAllSummaries();
+
+    // Overlap queries run against the generated time_range column and its GiST exclusion index.
+    // The appointment_time bounds let PostgreSQL prune the monthly partitions: an overlapping
+    // booking starts before the window ends and at most one maximum duration before it starts.
+    String PARTITION_BOUNDS = "AND a.appointment_time < :endTime " +
+            "AND a.appointment_time > CAST(:startTime AS timestamp) - INTERVAL '" + Appointment.MAX_DURATION_MINUTES + " minutes' ";
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM appointment a WHERE a.doctor_id = :doctorId " +
+            "AND a.time_range && tsrange(:startTime, :endTime, '[)') " + PARTITION_BOUNDS +
+            "AND a.id <> :excludeAppointmentId)", nativeQuery = true)
+    boolean existsOverlappingAppointmentsExcluding(
             @Param("doctorId") Long doctorId,
             @Param("startTime") LocalDateTime appointmentStart,
             @Param("endTime") LocalDateTime appointmentEnd,
             @Param("excludeAppointmentId") Long excludeAppointmentId);
 
-    @Query("SELECT a FROM Appointment a WHERE a.doctor.id = :doctorId " +
-            "AND a.appointmentTime BETWEEN :startTime AND :endTime")
-    List<Appointment> findConflictingAppointments(
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM appointment a WHERE a.doctor_id = :doctorId " +
+            "AND a.time_range && tsrange(:startTime, :endTime, '[)') " + PARTITION_BOUNDS + ")", nativeQuery = true)
+    boolean existsOverlappingAppointments(
             @Param("doctorId") Long doctorId,
             @Param("startTime") LocalDateTime appointmentStart,
             @Param("endTime") LocalDateTime appointmentEnd);
 
+    // Availability of many candidate doctors in one statement
+    @Query(value = "SELECT DISTINCT a.doctor_id FROM appointment a WHERE a.doctor_id IN (:doctorIds) " +
+            "AND a.time_range && tsrange(:startTime, :endTime, '[)') " + PARTITION_BOUNDS, nativeQuery = true)
+    List<Long> findBusyDoctorIds(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("startTime") LocalDateTime appointmentStart,
+            @Param("endTime") LocalDateTime appointmentEnd);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentInterval(a.id, a.doctor.id, a.appointmentTime, a.endTime) " +
+            "FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentTime >= :from")
+    List<AppointmentInterval> findIntervalsByDoctorFrom(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentInterval(a.id, a.doctor.id, a.appointmentTime, a.endTime) " +
+            "FROM Appointment a WHERE a.doctor.id = :doctorId " +
+            "AND a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.appointmentTime")
+    List<AppointmentInterval> findIntervalsByDoctorStartingBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentInterval(a.id, a.doctor.id, a.appointmentTime, a.endTime) " +
+            "FROM Appointment a WHERE a.doctor.id IN :doctorIds " +
+            "AND a.appointmentTime >= :from AND a.appointmentTime < :to ORDER BY a.appointmentTime")
+    List<AppointmentInterval> findIntervalsByDoctorsStartingBetween(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // Narrow listing projections: one statement, no Patient/Doctor/Insurance entities materialised
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentSummary(" +
+            "a.id, a.appointmentTime, a.endTime, a.reason, p.id, p.name, d.id, d.name) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.doctor d " +
+            "WHERE d.id = :doctorId AND a.appointmentTime BETWEEN :startTime AND :endTime " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentSummary> findSummariesByDoctorAndTimeBetween(
+            @Param("doctorId") Long doctorId,
+            @Param("startTime") LocalDateTime startDateTime,
+            @Param("endTime") LocalDateTime endDateTime);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentSummary(" +
+            "a.id, a.appointmentTime, a.endTime, a.reason, p.id, p.name, d.id, d.name) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.doctor d " +
+            "WHERE p.id = :patientId ORDER BY a.appointmentTime DESC, a.id DESC")
+    List<AppointmentSummary> findSummariesByPatient(@Param("patientId") Long patientId, Limit limit);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AppointmentSummary(" +
+            "a.id, a.appointmentTime, a.endTime, a.reason, p.id, p.name, d.id, d.name) " +
+            "FROM Appointment a JOIN a.patient p JOIN a.doctor d " +
+            "WHERE a.appointmentTime <= :endTime " +
+            "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<AppointmentSummary> findSummariesAfterCursor(
+            @Param("endTime") LocalDateTime endDateTime,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    // Keyset-paged chunks for the reminder window; start with afterId = Long.MIN_VALUE to include afterTime itself
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.UpcomingAppointment(" +
+            "a.id, a.patient.id, a.doctor.id, a.appointmentTime) FROM Appointment a " +
+            "WHERE a.appointmentTime < :endTime " +
+            "AND (a.appointmentTime > :afterTime OR (a.appointmentTime = :afterTime AND a.id > :afterId)) " +
+            "ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<UpcomingAppointment> findUpcomingAfterCursor(
+            @Param("endTime") LocalDateTime endExclusive,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    // Grouped utilisation counts: one GROUP BY over the whole range instead of one count per doctor and day
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DoctorAppointmentCount(" +
+            "a.doctor.id, cast(a.appointmentTime as LocalDate), count(a)) " +
+            "FROM Appointment a WHERE a.appointmentTime >= :startTime AND a.appointmentTime < :endTime " +
+            "GROUP BY a.doctor.id, cast(a.appointmentTime as LocalDate) " +
+            "ORDER BY a.doctor.id, cast(a.appointmentTime as LocalDate)")
+    List<DoctorAppointmentCount> countPerDoctorPerDay(
+            @Param("startTime") LocalDateTime startDateTime,
+            @Param("endTime") LocalDateTime endDateTime);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DoctorAppointmentCount(" +
+            "a.doctor.id, cast(a.appointmentTime as LocalDate), count(a)) " +
+            "FROM Appointment a WHERE a.doctor.id IN :doctorIds " +
+            "AND a.appointmentTime >= :startTime AND a.appointmentTime < :endTime " +
+            "GROUP BY a.doctor.id, cast(a.appointmentTime as LocalDate) " +
+            "ORDER BY a.doctor.id, cast(a.appointmentTime as LocalDate)")
+    List<DoctorAppointmentCount> countPerDoctorPerDay(
+            @Param("doctorIds") Collection<Long> doctorIds,
+            @Param("startTime") LocalDateTime startDateTime,
+            @Param("endTime") LocalDateTime endDateTime);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DoctorAppointmentCount(" +
+            "a.doctor.id, cast(a.appointmentTime as LocalDate), extract(hour from a.appointmentTime), count(a)) " +
+            "FROM Appointment a WHERE a.appointmentTime >= :startTime AND a.appointmentTime < :endTime " +
+            "GROUP BY a.doctor.id, cast(a.appointmentTime as LocalDate), extract(hour from a.appointmentTime) " +
+            "ORDER BY a.doctor.id, cast(a.appointmentTime as LocalDate), extract(hour from a.appointmentTime)")
+    List<DoctorAppointmentCount> countPerDoctorPerHour(
+            @Param("startTime") LocalDateTime startDateTime,
+            @Param("endTime") LocalDateTime endDateTime);
+
     long countByDoctorIdAndAppointmentTimeBetween(Long doctorId, LocalDateTime startDateTime, LocalDateTime endDateTime);
 }
\ No newline at end of file
@@ -1,13 +1,64 @@
 package com.hospital_management.hotpital_management.repository;
 
+import com.hospital_management.hotpital_management.dto.DepartmentMemberRow;
+import com.hospital_management.hotpital_management.dto.DepartmentRosterEntry;
 import com.hospital_management.hotpital_management.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     boolean existsByName(String name);
     Optional<Department> findByName(String name);
+
+    @Query("SELECT d.id FROM Department dep JOIN dep.doctors d WHERE dep.id = :departmentId")
+    List<Long> findDoctorIds(@Param("departmentId") Long departmentId);
+
+    // Roster in two statements: departments with their heads, then every membership row
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DepartmentRosterEntry(dep.id, dep.name, h.id, h.name) " +
+            "FROM Department dep LEFT JOIN dep.headDoctor h ORDER BY dep.name, dep.id")
+    List<DepartmentRosterEntry> findRosterEntries();
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DepartmentMemberRow(dep.id, d.id, d.name) " +
+            "FROM Department dep JOIN dep.doctors d ORDER BY d.name, d.id")
+    List<DepartmentMemberRow> findRosterMembers();
+
+    // Membership edits work on single rows of the join table instead of loading and rewriting the doctors set.
+    // The join table's (dpt_id, doctor_id) primary key makes the inserts idempotent.
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM my_departments_doctors WHERE dpt_id = :departmentId AND doctor_id = :doctorId)",
+            nativeQuery = true)
+    boolean isMember(@Param("departmentId") Long departmentId, @Param("doctorId") Long doctorId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO my_departments_doctors (dpt_id, doctor_id) VALUES (:departmentId, :doctorId) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addMember(@Param("departmentId") Long departmentId, @Param("doctorId") Long doctorId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO my_departments_doctors (dpt_id, doctor_id) " +
+            "SELECT :departmentId, d.id FROM doctor d WHERE d.id IN (:doctorIds) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int addMembers(@Param("departmentId") Long departmentId, @Param("doctorIds") Collection<Long> doctorIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM my_departments_doctors WHERE dpt_id = :departmentId AND doctor_id = :doctorId",
+            nativeQuery = true)
+    int removeMember(@Param("departmentId") Long departmentId, @Param("doctorId") Long doctorId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM my_departments_doctors WHERE dpt_id = :departmentId AND doctor_id IN (:doctorIds)",
+            nativeQuery = true)
+    int removeMembers(@Param("departmentId") Long departmentId, @Param("doctorIds") Collection<Long> doctorIds);
 }
\ No newline at end of file
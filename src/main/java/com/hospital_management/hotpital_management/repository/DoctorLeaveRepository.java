@@ -0,0 +1,19 @@
+package com.hospital_management.hotpital_management.repository;
+
+import com.hospital_management.hotpital_management.model.DoctorLeave;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DoctorLeaveRepository extends JpaRepository<DoctorLeave, Long> {
+
+    @Query("SELECT l FROM DoctorLeave l WHERE l.doctor.id IN :doctorIds AND l.endTime > :from ORDER BY l.startTime")
+    List<DoctorLeave> findUpcomingByDoctorIds(@Param("doctorIds") Collection<Long> doctorIds,
+                                              @Param("from") LocalDateTime from);
+}
@@ -1,15 +1,49 @@
 package com.hospital_management.hotpital_management.repository;
 
+import com.hospital_management.hotpital_management.dto.DoctorDirectoryEntry;
+import com.hospital_management.hotpital_management.dto.DoctorExportRow;
 import com.hospital_management.hotpital_management.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     boolean existsByEmail(String email);
     Optional<Doctor> findByEmail(String email);
-    List<Doctor> findBySpecializationIgnoreCase(String specialization);
+
+    // Specialization lookups go through the catalogue id and idx_doctor_specialization_id
+    @Query("SELECT d FROM Doctor d WHERE d.specializationRef.id = :specializationId")
+    List<Doctor> findBySpecializationId(@Param("specializationId") Long specializationId);
+
+    @Query("SELECT d.id FROM Doctor d WHERE d.specializationRef.id = :specializationId")
+    List<Long> findIdsBySpecializationId(@Param("specializationId") Long specializationId);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DoctorDirectoryEntry(d.id, d.name, d.email, d.specialization) " +
+            "FROM Doctor d WHERE d.id = :id")
+    Optional<DoctorDirectoryEntry> findDirectoryEntry(@Param("id") Long id);
+
+    @Query("SELECT dep.id FROM Doctor d JOIN d.departments dep WHERE d.id = :id")
+    Set<Long> findDepartmentIds(@Param("id") Long id);
+
+    @Query("SELECT d.id FROM Doctor d WHERE d.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    @Query("SELECT d.id FROM Doctor d WHERE d.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.DoctorExportRow(d.id, d.name, d.email, d.specialization) " +
+            "FROM Doctor d ORDER BY d.id")
+    Stream<DoctorExportRow> streamExportRows();
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.hospital_management.hotpital_management.repository;
+
+import com.hospital_management.hotpital_management.model.DoctorShift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DoctorShiftRepository extends JpaRepository<DoctorShift, Long> {
+
+    @Query("SELECT s FROM DoctorShift s WHERE s.doctor.id = :doctorId ORDER BY s.dayOfWeek, s.startTime")
+    List<DoctorShift> findByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query("SELECT s FROM DoctorShift s WHERE s.doctor.id IN :doctorIds")
+    List<DoctorShift> findByDoctorIdIn(@Param("doctorIds") Collection<Long> doctorIds);
+
+    @Modifying
+    @Query("DELETE FROM DoctorShift s WHERE s.doctor.id = :doctorId")
+    int deleteByDoctorId(@Param("doctorId") Long doctorId);
+}
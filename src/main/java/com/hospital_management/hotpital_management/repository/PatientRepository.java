@@ -1,20 +1,151 @@
 package com.hospital_management.hotpital_management.repository;
 
+import com.hospital_management.hotpital_management.dto.AgeDistribution;
+import com.hospital_management.hotpital_management.dto.CategoryCount;
+import com.hospital_management.hotpital_management.dto.MonthlyCount;
+import com.hospital_management.hotpital_management.dto.PatientExportRow;
+import com.hospital_management.hotpital_management.dto.PatientSearchResult;
+import com.hospital_management.hotpital_management.dto.PatientSummaryRow;
 import com.hospital_management.hotpital_management.model.Patient;
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Date;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     boolean existsByEmail(String email);
 
-    boolean existsByNameAndBirthDate(String name, LocalDate birthDate);
-
     Optional<Patient> findByEmail(String email);
 
     List<Patient> findByBirthDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query("SELECT p.birthDate FROM Patient p WHERE p.id = :id")
+    Optional<LocalDate> findBirthDateById(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Patient p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Demographic aggregates. Age brackets are birth date ranges (age >= N exactly when birthDate <= asOf - N years),
+    // so one sequential scan of the table counts every bracket without computing an age per row.
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.AgeDistribution(count(p), " +
+            "count(case when p.birthDate > :cutoff18 then 1 end), " +
+            "count(case when p.birthDate <= :cutoff18 and p.birthDate > :cutoff35 then 1 end), " +
+            "count(case when p.birthDate <= :cutoff35 and p.birthDate > :cutoff50 then 1 end), " +
+            "count(case when p.birthDate <= :cutoff50 and p.birthDate > :cutoff65 then 1 end), " +
+            "count(case when p.birthDate <= :cutoff65 then 1 end), " +
+            "count(case when p.birthDate is null then 1 end)) FROM Patient p")
+    AgeDistribution countByAgeBracket(
+            @Param("cutoff18") LocalDate cutoff18,
+            @Param("cutoff35") LocalDate cutoff35,
+            @Param("cutoff50") LocalDate cutoff50,
+            @Param("cutoff65") LocalDate cutoff65);
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.CategoryCount(cast(p.bloodGroup as String), count(p)) " +
+            "FROM Patient p GROUP BY p.bloodGroup ORDER BY count(p) DESC")
+    List<CategoryCount> countByBloodGroup();
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.CategoryCount(p.gender, count(p)) " +
+            "FROM Patient p GROUP BY p.gender ORDER BY count(p) DESC")
+    List<CategoryCount> countByGender();
+
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.MonthlyCount(" +
+            "extract(year from p.createdAt), extract(month from p.createdAt), count(p)) " +
+            "FROM Patient p WHERE p.createdAt >= :since " +
+            "GROUP BY extract(year from p.createdAt), extract(month from p.createdAt) " +
+            "ORDER BY extract(year from p.createdAt), extract(month from p.createdAt)")
+    List<MonthlyCount> countRegistrationsPerMonth(@Param("since") LocalDateTime since);
+
+    // Forward-only export cursor; the projection keeps the persistence context empty
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.PatientExportRow(" +
+            "p.id, p.name, p.email, p.gender, p.birthDate, p.bloodGroup, p.createdAt, i.policyNumber, i.provider, i.validUntil) " +
+            "FROM Patient p LEFT JOIN p.insurance i ORDER BY p.id")
+    Stream<PatientExportRow> streamExportRows();
+
+    // Patient chart in one statement: the appointment join walks idx_appointment_patient_time_id from :now,
+    // so the limit caps the upcoming visits while the patient and insurance columns repeat on each row
+    @Query("SELECT new com.hospital_management.hotpital_management.dto.PatientSummaryRow(" +
+            "p.id, p.name, p.email, p.gender, p.birthDate, p.bloodGroup, i.policyNumber, i.provider, i.validUntil, " +
+            "a.id, a.appointmentTime, a.endTime, a.reason, d.id, d.name, d.specialization) " +
+            "FROM Patient p LEFT JOIN p.insurance i " +
+            "LEFT JOIN p.appointments a ON a.appointmentTime > :now " +
+            "LEFT JOIN a.doctor d " +
+            "WHERE p.id = :patientId ORDER BY a.appointmentTime ASC, a.id ASC")
+    List<PatientSummaryRow> findSummaryRows(
+            @Param("patientId") Long patientId,
+            @Param("now") LocalDateTime now,
+            Limit limit);
+
+    // Name search (see schema.sql for the indexes). Patterns arrive lower-cased with LIKE wildcards escaped.
+    String SEARCH_FILTERS = "AND (CAST(:birthDate AS date) IS NULL OR p.birth_date = CAST(:birthDate AS date)) " +
+            "AND (CAST(:bloodGroup AS varchar) IS NULL OR p.blood_group = CAST(:bloodGroup AS varchar)) ";
+
+    // Short prefixes have no trigrams to look up, so walk the C-collated lower(name) index in order
+    @NativeQuery("SELECT p.id, p.name, p.birth_date, p.blood_group, CAST(1 AS double precision) AS score " +
+            "FROM patient p WHERE lower(p.name) COLLATE \"C\" LIKE :prefix " + SEARCH_FILTERS +
+            "ORDER BY lower(p.name) COLLATE \"C\", p.id LIMIT :limit")
+    List<Tuple> findNamePrefixRows(
+            @Param("prefix") String prefixPattern,
+            @Param("birthDate") LocalDate birthDate,
+            @Param("bloodGroup") String bloodGroup,
+            @Param("limit") int limit);
+
+    // Substring or fuzzy word match through the trigram GIN index; prefix matches rank first
+    @NativeQuery("SELECT p.id, p.name, p.birth_date, p.blood_group, " +
+            "CAST(word_similarity(:query, p.name) AS double precision) AS score " +
+            "FROM patient p WHERE (p.name ILIKE :contains OR :query <% p.name) " + SEARCH_FILTERS +
+            "ORDER BY (lower(p.name) LIKE :prefix) DESC, score DESC, p.name, p.id LIMIT :limit")
+    List<Tuple> findNameTrigramRows(
+            @Param("query") String query,
+            @Param("contains") String containsPattern,
+            @Param("prefix") String prefixPattern,
+            @Param("birthDate") LocalDate birthDate,
+            @Param("bloodGroup") String bloodGroup,
+            @Param("limit") int limit);
+
+    default List<PatientSearchResult> searchByNamePrefix(String prefixPattern, LocalDate birthDate,
+                                                         String bloodGroup, int limit) {
+        return findNamePrefixRows(prefixPattern, birthDate, bloodGroup, limit).stream()
+                .map(PatientRepository::toSearchResult)
+                .toList();
+    }
+
+    default List<PatientSearchResult> searchByNameTrigram(String query, String containsPattern, String prefixPattern,
+                                                          LocalDate birthDate, String bloodGroup, int limit) {
+        return findNameTrigramRows(query, containsPattern, prefixPattern, birthDate, bloodGroup, limit).stream()
+                .map(PatientRepository::toSearchResult)
+                .toList();
+    }
+
+    private static PatientSearchResult toSearchResult(Tuple row) {
+        String bloodGroup = row.get("blood_group", String.class);
+        return new PatientSearchResult(
+                row.get("id", Number.class).longValue(),
+                row.get("name", String.class),
+                toLocalDate(row.get("birth_date")),
+                bloodGroup != null ? BloodGroupType.valueOf(bloodGroup) : null,
+                row.get("score", Number.class).doubleValue());
+    }
+
+    // Native queries hand DATE columns back as java.sql.Date
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
 }
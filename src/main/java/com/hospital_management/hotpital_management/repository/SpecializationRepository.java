@@ -0,0 +1,25 @@
+package com.hospital_management.hotpital_management.repository;
+
+import com.hospital_management.hotpital_management.model.Specialization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface SpecializationRepository extends JpaRepository<Specialization, Long> {
+
+    @Query("SELECT s.id FROM Specialization s WHERE s.normalizedName = :normalizedName")
+    Optional<Long> findIdByNormalizedName(@Param("normalizedName") String normalizedName);
+
+    // Racing registrations of the same new specialization both succeed; the loser inserts nothing
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO specialization (name, normalized_name) VALUES (:name, :normalizedName) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("normalizedName") String normalizedName);
+}
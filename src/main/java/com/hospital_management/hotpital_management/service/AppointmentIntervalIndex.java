@@ -0,0 +1,198 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.model.Appointment;
+import com.hospital_management.hotpital_management.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of booked appointment intervals per doctor, used to answer
+ * conflict checks without hitting the database.
+ * <p>
+ * A doctor's bookings are loaded lazily (from the start of the current day onwards) on the
+ * first check and kept in sync by {@link AppointmentService} after each commit. A load only
+ * covers the day it was made on: once the day rolls over it is dropped on the next access or by
+ * the nightly prune, so past bookings never accumulate. Whenever the index cannot answer (cold
+ * doctor, stale load or window before the loaded horizon) the caller falls back to the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppointmentIntervalIndex {
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final ConcurrentMap<Long, DoctorIntervals> doctors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> writeVersions = new ConcurrentHashMap<>();
+
+    public enum ConflictCheck {
+        CONFLICT,
+        FREE,
+        // The index has no data for this doctor or window; ask the database
+        UNKNOWN
+    }
+
+    /**
+     * Checks whether any booking of the doctor (other than {@code excludeAppointmentId}) overlaps
+     * {@code [from, to)}.
+     */
+    public ConflictCheck checkConflict(Long doctorId, LocalDateTime from, LocalDateTime to, Long excludeAppointmentId) {
+        DoctorIntervals intervals = current(doctorId);
+        if (intervals == null || from.isBefore(intervals.horizon)) {
+            return ConflictCheck.UNKNOWN;
+        }
+        return intervals.hasConflict(from, to, excludeAppointmentId) ? ConflictCheck.CONFLICT : ConflictCheck.FREE;
+    }
+
+    /**
+     * Booking conflicts only, answered from the index when it is warm for the window and from
+     * the database otherwise; duty hours are checked by the callers.
+     */
+    public boolean isSlotFree(Long doctorId, LocalDateTime from, LocalDateTime to, Long excludeAppointmentId) {
+        ConflictCheck indexed = checkConflict(doctorId, from, to, excludeAppointmentId);
+        if (indexed != ConflictCheck.UNKNOWN) {
+            return indexed == ConflictCheck.FREE;
+        }
+        if (excludeAppointmentId != null) {
+            return !appointmentRepository.existsOverlappingAppointmentsExcluding(doctorId, from, to, excludeAppointmentId);
+        }
+        return !appointmentRepository.existsOverlappingAppointments(doctorId, from, to);
+    }
+
+    /**
+     * Returns the doctor's bookings overlapping {@code [from, to)} sorted by start time,
+     * or empty when the index cannot answer for that window.
+     */
+    public Optional<List<AppointmentInterval>> findIntervals(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        DoctorIntervals intervals = current(doctorId);
+        if (intervals == null || from.isBefore(intervals.horizon)) {
+            return Optional.empty();
+        }
+        return Optional.of(intervals.overlapping(from, to));
+    }
+
+    public void recordBooking(Appointment appointment) {
+        AppointmentInterval interval = toInterval(appointment);
+        TransactionCallbacks.afterCommit(() -> apply(interval.doctorId(), intervals -> intervals.add(interval)));
+    }
+
+    public void recordReschedule(Appointment appointment, Long previousDoctorId) {
+        AppointmentInterval interval = toInterval(appointment);
+        TransactionCallbacks.afterCommit(() -> {
+            apply(previousDoctorId, intervals -> intervals.remove(interval.id()));
+            apply(interval.doctorId(), intervals -> intervals.add(interval));
+        });
+    }
+
+    public void recordCancellation(Long appointmentId, Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> apply(doctorId, intervals -> intervals.remove(appointmentId)));
+    }
+
+    public void invalidate(Long doctorId) {
+        doctors.compute(doctorId, (id, existing) -> {
+            writeVersion(id).incrementAndGet();
+            return null;
+        });
+        log.debug("Appointment interval index invalidated for doctor: {}", doctorId);
+    }
+
+    public void invalidateAll() {
+        doctors.keySet().forEach(this::invalidate);
+    }
+
+    // Drops loads from previous days for doctors that have not been checked since midnight
+    @Scheduled(cron = "${appointment.interval-index.prune-cron:0 5 0 * * *}")
+    public void pruneStaleDoctors() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        int before = doctors.size();
+        doctors.values().removeIf(intervals -> intervals.horizon.isBefore(today));
+        log.debug("Pruned {} stale doctors from the appointment interval index", before - doctors.size());
+    }
+
+    private DoctorIntervals current(Long doctorId) {
+        DoctorIntervals intervals = doctors.get(doctorId);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        if (intervals != null && intervals.horizon.isBefore(today)) {
+            // Reloading from today drops every booking that has already ended
+            doctors.remove(doctorId, intervals);
+            intervals = null;
+        }
+        return intervals != null ? intervals : load(doctorId, today);
+    }
+
+    private DoctorIntervals load(Long doctorId, LocalDateTime horizon) {
+        long version = writeVersion(doctorId).get();
+        // Bookings that started up to one maximum duration earlier can still overlap the horizon
+        List<AppointmentInterval> bookings = appointmentRepository
+                .findIntervalsByDoctorFrom(doctorId, horizon.minusMinutes(Appointment.MAX_DURATION_MINUTES));
+
+        // Only install the snapshot if no booking for this doctor was written while loading
+        return doctors.compute(doctorId, (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            if (writeVersion(id).get() != version) {
+                return null;
+            }
+            log.debug("Loaded {} bookings into interval index for doctor: {}", bookings.size(), id);
+            return new DoctorIntervals(horizon, bookings);
+        });
+    }
+
+    private void apply(Long doctorId, Consumer<DoctorIntervals> change) {
+        doctors.compute(doctorId, (id, existing) -> {
+            writeVersion(id).incrementAndGet();
+            if (existing != null) {
+                change.accept(existing);
+            }
+            return existing;
+        });
+    }
+
+    private static AppointmentInterval toInterval(Appointment appointment) {
+        return new AppointmentInterval(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getAppointmentTime(), appointment.resolveEndTime());
+    }
+
+    private AtomicLong writeVersion(Long doctorId) {
+        return writeVersions.computeIfAbsent(doctorId, id -> new AtomicLong());
+    }
+
+    private static final class DoctorIntervals {
+        private final LocalDateTime horizon;
+        private final BookedIntervals bookings;
+
+        private DoctorIntervals(LocalDateTime horizon, List<AppointmentInterval> bookings) {
+            this.horizon = horizon;
+            this.bookings = new BookedIntervals(bookings);
+        }
+
+        synchronized void add(AppointmentInterval interval) {
+            bookings.add(interval);
+        }
+
+        synchronized void remove(Long appointmentId) {
+            bookings.remove(appointmentId);
+        }
+
+        synchronized boolean hasConflict(LocalDateTime from, LocalDateTime to, Long excludeAppointmentId) {
+            return bookings.hasConflict(from, to, excludeAppointmentId);
+        }
+
+        synchronized List<AppointmentInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+            return bookings.overlapping(from, to);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.hospital_management.hotpital_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the appointment table (see schema.sql).
+ * <p>
+ * Partitions for the current month and the configured number of months ahead are created in
+ * advance, so new bookings rarely land in the default partition; any month still found there,
+ * past or future, gets its partition too so its rows move out. Partitions older than the
+ * retention period are detached from the table, which keeps them out of every query, and
+ * renamed to {@code appointment_archive_YYYY_MM} so they can be dumped or dropped separately.
+ * Runs at startup and then on the configured schedule.
+ */
+@Slf4j
+@Component
+public class AppointmentPartitionManager {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("appointment_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public AppointmentPartitionManager(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${appointment.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${appointment.partitions.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${appointment.partitions.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        try {
+            createPartitions(currentMonth, currentMonth.plusMonths(monthsAhead));
+            createPartitionsForDefaultRows();
+            // A retention of 0 keeps all history attached
+            if (retentionMonths > 0) {
+                archivePartitionsBefore(currentMonth.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException ex) {
+            log.error("Appointment partition maintenance failed", ex);
+        }
+    }
+
+    public int createPartitions(YearMonth fromMonth, YearMonth toMonth) {
+        int created = 0;
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            LocalDate monthStart = month.atDay(1);
+            Boolean isCreated = jdbcTemplate.queryForObject(
+                    "SELECT create_appointment_partition(?)", Boolean.class, monthStart);
+            if (Boolean.TRUE.equals(isCreated)) {
+                log.info("Created appointment partition for {}", month);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    // Rows land in the default partition when booked before their month's partition existed
+    public int createPartitionsForDefaultRows() {
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', appointment_time)::date FROM appointment_default",
+                LocalDate.class);
+        int created = 0;
+        for (LocalDate monthStart : months) {
+            YearMonth month = YearMonth.from(monthStart);
+            created += createPartitions(month, month);
+        }
+        return created;
+    }
+
+    public List<String> archivePartitionsBefore(YearMonth cutoffMonth) {
+        List<String> archived = new ArrayList<>();
+        for (String partition : findPartitionNames()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoffMonth)) {
+                continue;
+            }
+            String archiveName = "appointment_archive_" + month.format(MONTH_SUFFIX);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE appointment DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archiveName);
+            });
+            log.info("Archived appointment partition {} as {}", partition, archiveName);
+            archived.add(archiveName);
+        }
+        return archived;
+    }
+
+    private List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = 'appointment'::regclass ORDER BY c.relname", String.class);
+    }
+}
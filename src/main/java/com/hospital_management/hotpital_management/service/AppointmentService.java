@@ -1,27 +1,79 @@
 package com.hospital_management.hotpital_management.service;
 
+import com.hospital_management.hotpital_management.dto.AppointmentCursor;
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.dto.AppointmentScheduleResult;
+import com.hospital_management.hotpital_management.dto.AppointmentSummary;
+import com.hospital_management.hotpital_management.dto.DoctorAppointmentCount;
+import com.hospital_management.hotpital_management.dto.DoctorDailyAvailability;
+import com.hospital_management.hotpital_management.dto.KeysetPage;
+import com.hospital_management.hotpital_management.dto.RecurringAppointmentRequest;
+import com.hospital_management.hotpital_management.dto.RecurringAppointmentResult;
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+import com.hospital_management.hotpital_management.error.AppointmentConflictException;
+import com.hospital_management.hotpital_management.event.AppointmentEvent;
+import com.hospital_management.hotpital_management.event.AppointmentEventPipeline;
+import com.hospital_management.hotpital_management.error.ConstraintViolations;
 import com.hospital_management.hotpital_management.model.Appointment;
 import com.hospital_management.hotpital_management.model.Doctor;
 import com.hospital_management.hotpital_management.model.Patient;
 import com.hospital_management.hotpital_management.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AppointmentService {
 
+    // Exclusion constraint on (doctor_id, time_range), one per monthly partition (see schema.sql)
+    private static final Pattern DOCTOR_OVERLAP_CONSTRAINT = Pattern.compile("appointment_\\w*doctor_no_overlap");
+
+    private static final int MAX_SLOTS_PER_SEARCH = 50;
+    private static final int SLOT_SEARCH_HORIZON_DAYS = 90;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+    private static final int MAX_SERIES_OCCURRENCES = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final PatientService patientService;
     private final DoctorService doctorService;
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
+    private final DoctorBookingLocks doctorBookingLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final FreeSlotFinder freeSlotFinder;
+    private final EntityManager entityManager;
+    private final DoctorAgendaCache doctorAgendaCache;
+    private final AppointmentEventPipeline appointmentEventPipeline;
+    private final DoctorAvailabilityService doctorAvailabilityService;
 
     public Appointment scheduleAppointment(Appointment appointment) {
         log.info("Scheduling new appointment for patient {} with doctor {} at {}",
@@ -29,23 +81,245 @@ public class AppointmentService {
                 appointment.getDoctor().getId(),
                 appointment.getAppointmentTime());
 
+        // Hold the doctor's lock until commit so concurrent bookings for the same slot are serialised
+        return doctorBookingLocks.withDoctorLock(appointment.getDoctor().getId(),
+                () -> translateOverlapViolation(() -> transactionTemplate.execute(status -> doScheduleAppointment(appointment))));
+    }
+
+    private Appointment doScheduleAppointment(Appointment appointment) {
         // Verify patient exists
         Patient patient = patientService.getPatientById(appointment.getPatient().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + appointment.getPatient().getId()));
 
         // Verify doctor exists
-        Doctor doctor = doctorService.getDoctorById(appointment.getDoctor().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + appointment.getDoctor().getId()));
+        Doctor doctor = doctorService.getExistingDoctorReference(appointment.getDoctor().getId());
+
+        validateDuration(appointment);
+        validateAppointmentConflicts(appointment);
 
         appointment.setPatient(patient);
         appointment.setDoctor(doctor);
 
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        appointmentIntervalIndex.recordBooking(savedAppointment);
+        doctorAgendaCache.evictAfterCommit(doctor.getId(), savedAppointment.getAppointmentTime(), savedAppointment.resolveEndTime());
+        publishAfterCommit(AppointmentEvent.scheduled(savedAppointment));
         log.info("Appointment scheduled successfully with ID: {}", savedAppointment.getId());
 
         return savedAppointment;
     }
 
+    public List<AppointmentScheduleResult> scheduleAppointments(List<Appointment> appointments) {
+        log.info("Scheduling batch of {} appointments", appointments.size());
+
+        if (appointments.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Cannot schedule more than " + MAX_BATCH_SIZE + " appointments at once");
+        }
+
+        // Verify patients and doctors with one IN query each
+        Set<Long> existingPatientIds = patientService.findExistingPatientIds(appointments.stream()
+                .map(Appointment::getPatient).filter(Objects::nonNull).map(Patient::getId)
+                .filter(Objects::nonNull).collect(Collectors.toSet()));
+        Set<Long> existingDoctorIds = doctorService.findExistingDoctorIds(appointments.stream()
+                .map(Appointment::getDoctor).filter(Objects::nonNull).map(Doctor::getId)
+                .filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        AppointmentScheduleResult[] results = new AppointmentScheduleResult[appointments.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < appointments.size(); i++) {
+            String error = validateBatchItem(appointments.get(i), existingPatientIds, existingDoctorIds);
+            if (error != null) {
+                results[i] = AppointmentScheduleResult.failed(i, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of(results);
+        }
+
+        Set<Long> doctorIds = candidates.stream()
+                .map(i -> appointments.get(i).getDoctor().getId())
+                .collect(Collectors.toSet());
+
+        return doctorBookingLocks.withDoctorLocks(doctorIds, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            persistBatch(appointments, candidates, doctorIds, results));
+                    break;
+                } catch (DataIntegrityViolationException ex) {
+                    if (!ConstraintViolations.isViolationMatching(ex, DOCTOR_OVERLAP_CONSTRAINT)) {
+                        throw ex;
+                    }
+                    // Another instance took a slot first and the whole batch was rolled back. The
+                    // retry re-reads the database, so only the rows that really collide fail
+                    candidates.forEach(i -> appointments.get(i).setId(null));
+                    if (attempt == MAX_BATCH_ATTEMPTS) {
+                        for (int i : candidates) {
+                            if (results[i].isSuccess()) {
+                                results[i] = AppointmentScheduleResult.failed(i,
+                                        "Not scheduled because of concurrent bookings, please retry");
+                            }
+                        }
+                        break;
+                    }
+                    log.warn("Batch lost a slot to a concurrent booking, retrying (attempt {} of {})",
+                            attempt, MAX_BATCH_ATTEMPTS);
+                }
+            }
+            log.info("Batch scheduling finished: {} of {} appointments scheduled",
+                    Arrays.stream(results).filter(AppointmentScheduleResult::isSuccess).count(), results.length);
+            return List.of(results);
+        });
+    }
+
+    private void persistBatch(List<Appointment> appointments, List<Integer> candidates, Set<Long> doctorIds,
+                              AppointmentScheduleResult[] results) {
+        LocalDateTime from = candidates.stream().map(i -> appointments.get(i).getAppointmentTime())
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = candidates.stream().map(i -> appointments.get(i).resolveEndTime())
+                .max(Comparator.naturalOrder()).orElseThrow();
+
+        // One range fetch covering every doctor in the batch, conflicts are then checked in memory
+        Map<Long, BookedIntervals> bookedByDoctor = appointmentRepository
+                .findIntervalsByDoctorsStartingBetween(doctorIds, from.minusMinutes(Appointment.MAX_DURATION_MINUTES), to)
+                .stream()
+                .collect(Collectors.groupingBy(AppointmentInterval::doctorId,
+                        Collectors.collectingAndThen(Collectors.toList(), BookedIntervals::new)));
+
+        List<Appointment> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i : candidates) {
+            Appointment appointment = appointments.get(i);
+            Long doctorId = appointment.getDoctor().getId();
+            LocalDateTime start = appointment.getAppointmentTime();
+            LocalDateTime end = appointment.resolveEndTime();
+
+            BookedIntervals booked = bookedByDoctor.computeIfAbsent(doctorId, id -> new BookedIntervals());
+            if (booked.hasConflict(start, end, null)) {
+                results[i] = AppointmentScheduleResult.failed(i, "Doctor is not available at the requested time");
+                continue;
+            }
+            // Placeholder id so later items in the batch see this booking
+            booked.add(new AppointmentInterval(-(i + 1L), doctorId, start, end));
+
+            appointment.setPatient(patientService.getPatientReference(appointment.getPatient().getId()));
+            appointment.setDoctor(doctorService.getDoctorReference(doctorId));
+            accepted.add(appointment);
+            acceptedIndexes.add(i);
+        }
+
+        List<Appointment> savedAppointments = appointmentRepository.saveAll(accepted);
+        for (int k = 0; k < savedAppointments.size(); k++) {
+            Appointment savedAppointment = savedAppointments.get(k);
+            int index = acceptedIndexes.get(k);
+            results[index] = AppointmentScheduleResult.scheduled(index, savedAppointment.getId());
+            appointmentIntervalIndex.recordBooking(savedAppointment);
+            doctorAgendaCache.evictAfterCommit(savedAppointment.getDoctor().getId(),
+                    savedAppointment.getAppointmentTime(), savedAppointment.resolveEndTime());
+            publishAfterCommit(AppointmentEvent.scheduled(savedAppointment));
+        }
+    }
+
+    private String validateBatchItem(Appointment appointment, Set<Long> existingPatientIds, Set<Long> existingDoctorIds) {
+        if (appointment.getAppointmentTime() == null) {
+            return "Appointment time is required";
+        }
+        if (appointment.getPatient() == null || !existingPatientIds.contains(appointment.getPatient().getId())) {
+            return "Patient not found with ID: " + (appointment.getPatient() != null ? appointment.getPatient().getId() : null);
+        }
+        if (appointment.getDoctor() == null || !existingDoctorIds.contains(appointment.getDoctor().getId())) {
+            return "Doctor not found with ID: " + (appointment.getDoctor() != null ? appointment.getDoctor().getId() : null);
+        }
+        String durationError = durationError(appointment);
+        if (durationError != null) {
+            return durationError;
+        }
+        if (!doctorAvailabilityService.isOnDuty(appointment.getDoctor().getId(),
+                appointment.getAppointmentTime(), appointment.resolveEndTime())) {
+            return "Doctor is off duty at the requested time";
+        }
+        return null;
+    }
+
+    public RecurringAppointmentResult scheduleRecurringAppointments(RecurringAppointmentRequest request) {
+        log.info("Scheduling series of {} appointments every {} days for patient {} with doctor {} from {}",
+                request.getOccurrences(), request.getIntervalDays(), request.getPatientId(),
+                request.getDoctorId(), request.getFirstAppointmentTime());
+
+        List<Appointment> series = expandSeries(request);
+
+        if (patientService.findExistingPatientIds(Set.of(request.getPatientId())).isEmpty()) {
+            throw new IllegalArgumentException("Patient not found with ID: " + request.getPatientId());
+        }
+        if (doctorService.findExistingDoctorIds(Set.of(request.getDoctorId())).isEmpty()) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + request.getDoctorId());
+        }
+
+        return doctorBookingLocks.withDoctorLock(request.getDoctorId(),
+                () -> translateOverlapViolation(() -> transactionTemplate.execute(status -> persistSeries(request, series))));
+    }
+
+    private RecurringAppointmentResult persistSeries(RecurringAppointmentRequest request, List<Appointment> series) {
+        Long doctorId = request.getDoctorId();
+        LocalDateTime seriesStart = series.get(0).getAppointmentTime();
+        LocalDateTime seriesEnd = series.get(series.size() - 1).resolveEndTime();
+
+        // One range fetch for the whole series, every occurrence is then checked in memory
+        BookedIntervals booked = new BookedIntervals(findDoctorIntervals(doctorId, seriesStart, seriesEnd));
+        List<TimeSlot> conflicts = series.stream()
+                .filter(occurrence -> booked.hasConflict(occurrence.getAppointmentTime(), occurrence.resolveEndTime(), null)
+                        || !doctorAvailabilityService.isOnDuty(doctorId, occurrence.getAppointmentTime(), occurrence.resolveEndTime()))
+                .map(occurrence -> new TimeSlot(occurrence.getAppointmentTime(), occurrence.resolveEndTime()))
+                .toList();
+        if (!conflicts.isEmpty()) {
+            log.info("Series not scheduled, {} of {} occurrences conflict", conflicts.size(), series.size());
+            return new RecurringAppointmentResult(List.of(), conflicts);
+        }
+
+        Patient patient = patientService.getPatientReference(request.getPatientId());
+        Doctor doctor = doctorService.getDoctorReference(doctorId);
+        series.forEach(occurrence -> {
+            occurrence.setPatient(patient);
+            occurrence.setDoctor(doctor);
+        });
+
+        List<Appointment> savedAppointments = appointmentRepository.saveAll(series);
+        savedAppointments.forEach(savedAppointment -> {
+            appointmentIntervalIndex.recordBooking(savedAppointment);
+            doctorAgendaCache.evictAfterCommit(doctorId, savedAppointment.getAppointmentTime(), savedAppointment.resolveEndTime());
+            publishAfterCommit(AppointmentEvent.scheduled(savedAppointment));
+        });
+        log.info("Series of {} appointments scheduled successfully", savedAppointments.size());
+
+        return new RecurringAppointmentResult(savedAppointments, List.of());
+    }
+
+    private List<Appointment> expandSeries(RecurringAppointmentRequest request) {
+        if (request.getPatientId() == null || request.getDoctorId() == null || request.getFirstAppointmentTime() == null) {
+            throw new IllegalArgumentException("Patient, doctor and first appointment time are required");
+        }
+        if (request.getOccurrences() <= 0 || request.getOccurrences() > MAX_SERIES_OCCURRENCES) {
+            throw new IllegalArgumentException("Occurrences must be between 1 and " + MAX_SERIES_OCCURRENCES);
+        }
+
+        List<Appointment> series = new ArrayList<>(request.getOccurrences());
+        for (int i = 0; i < request.getOccurrences(); i++) {
+            series.add(Appointment.builder()
+                    .appointmentTime(request.getFirstAppointmentTime().plusDays((long) i * request.getIntervalDays()))
+                    .durationMinutes(request.getDurationMinutes())
+                    .reason(request.getReason())
+                    .build());
+        }
+
+        series.forEach(this::validateDuration);
+        if (series.size() > 1 && request.getIntervalDays() <= 0) {
+            throw new IllegalArgumentException("Interval between occurrences must be at least one day");
+        }
+        return series;
+    }
+
     @Transactional(readOnly = true)
     public Optional<Appointment> getAppointmentById(Long appointmentId) {
         log.debug("Retrieving appointment with ID: {}", appointmentId);
@@ -68,7 +342,7 @@ public class AppointmentService {
         log.debug("Retrieving appointments for doctor: {}", doctorId);
 
         // Verify doctor exists
-        doctorService.getDoctorById(doctorId)
+        doctorService.getDirectoryEntry(doctorId)
                 .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
 
         return appointmentRepository.findByDoctorIdOrderByAppointmentTimeAsc(doctorId);
@@ -80,6 +354,106 @@ public class AppointmentService {
         return appointmentRepository.findByAppointmentTimeBetweenOrderByAppointmentTimeAsc(startDateTime, endDateTime);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<Appointment> getAppointmentsByDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                                              AppointmentCursor after, int pageSize) {
+        log.debug("Retrieving page of appointments between {} and {} after {}", startDateTime, endDateTime, after);
+        Limit limit = pageLimit(pageSize);
+
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findByAppointmentTimeBetweenOrderByAppointmentTimeAscIdAsc(startDateTime, endDateTime, limit)
+                : appointmentRepository.findByAppointmentTimeAfterCursor(endDateTime, after.appointmentTime(), after.id(), limit);
+        return toPage(appointments, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<Appointment> getAppointmentsByDoctor(Long doctorId, AppointmentCursor after, int pageSize) {
+        log.debug("Retrieving page of appointments for doctor {} after {}", doctorId, after);
+        Limit limit = pageLimit(pageSize);
+
+        List<Appointment> appointments = after == null
+                ? appointmentRepository.findByDoctorIdOrderByAppointmentTimeAscIdAsc(doctorId, limit)
+                : appointmentRepository.findByDoctorIdAfterCursor(doctorId, after.appointmentTime(), after.id(), limit);
+        return toPage(appointments, pageSize);
+    }
+
+    // Newest first, so the cursor points backwards in time
+    @Transactional(readOnly = true)
+    public KeysetPage<Appointment> getAppointmentsByPatient(Long patientId, AppointmentCursor before, int pageSize) {
+        log.debug("Retrieving page of appointments for patient {} before {}", patientId, before);
+        Limit limit = pageLimit(pageSize);
+
+        List<Appointment> appointments = before == null
+                ? appointmentRepository.findByPatientIdOrderByAppointmentTimeDescIdDesc(patientId, limit)
+                : appointmentRepository.findByPatientIdBeforeCursor(patientId, before.appointmentTime(), before.id(), limit);
+        return toPage(appointments, pageSize);
+    }
+
+    /**
+     * Streams every appointment in the range to the consumer through a forward-only cursor.
+     * Entities are detached in chunks, so they must not be modified or lazily navigated after
+     * the consumer returns.
+     */
+    @Transactional(readOnly = true)
+    public long streamAppointmentsByDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                              Consumer<Appointment> consumer) {
+        log.debug("Streaming appointments between {} and {}", startDateTime, endDateTime);
+        long count = 0;
+        try (Stream<Appointment> appointments = appointmentRepository.streamByAppointmentTimeBetween(startDateTime, endDateTime)) {
+            Iterator<Appointment> iterator = appointments.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                // Keep the persistence context flat regardless of the range size
+                if (++count % STREAM_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AppointmentSummary> getDoctorAgenda(Long doctorId, LocalDate date) {
+        log.debug("Retrieving agenda for doctor {} on {}", doctorId, date);
+        return appointmentRepository.findSummariesByDoctorAndTimeBetween(
+                doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay().minusNanos(1));
+    }
+
+    // Served from the agenda cache, polled by ward screens
+    public List<AppointmentSummary> getTodayAgendaByDoctor(Long doctorId) {
+        return getCachedDoctorAgenda(doctorId, LocalDate.now());
+    }
+
+    public List<AppointmentSummary> getCachedDoctorAgenda(Long doctorId, LocalDate date) {
+        return doctorAgendaCache.get(doctorId, date, () -> getDoctorAgenda(doctorId, date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<AppointmentSummary> getAppointmentSummariesByPatient(Long patientId, int limit) {
+        log.debug("Retrieving latest {} appointment summaries for patient: {}", limit, patientId);
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return appointmentRepository.findSummariesByPatient(patientId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<AppointmentSummary> getAppointmentSummariesByDateRange(LocalDateTime startDateTime,
+                                                                             LocalDateTime endDateTime,
+                                                                             AppointmentCursor after, int pageSize) {
+        log.debug("Retrieving page of appointment summaries between {} and {} after {}", startDateTime, endDateTime, after);
+        AppointmentCursor position = after != null ? after : new AppointmentCursor(startDateTime, Long.MIN_VALUE);
+
+        List<AppointmentSummary> summaries = appointmentRepository.findSummariesAfterCursor(
+                endDateTime, position.appointmentTime(), position.id(), pageLimit(pageSize));
+        return toPage(summaries, pageSize, last -> new AppointmentCursor(last.appointmentTime(), last.id()));
+    }
+
+    /**
+     * @deprecated runs an uncached range query on every call; ward screens and other pollers
+     * should use {@link #getTodayAgendaByDoctor(Long)}, which is served from the agenda cache
+     */
+    @Deprecated
     public List<Appointment> getTodayAppointmentsByDoctor(Long doctorId) {
         LocalDate today = LocalDate.now();
         LocalDateTime startOfDay = today.atStartOfDay();
@@ -101,26 +475,46 @@ public class AppointmentService {
     public Appointment updateAppointment(Long appointmentId, Appointment updatedAppointment) {
         log.info("Updating appointment with ID: {}", appointmentId);
 
+        // Only the target doctor's slot can become double-booked, so that is the lock to hold
+        return doctorBookingLocks.withDoctorLock(updatedAppointment.getDoctor().getId(),
+                () -> translateOverlapViolation(() -> transactionTemplate.execute(status -> doUpdateAppointment(appointmentId, updatedAppointment))));
+    }
+
+    private Appointment doUpdateAppointment(Long appointmentId, Appointment updatedAppointment) {
         Appointment existingAppointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Appointment not found with ID: " + appointmentId));
+        Long previousDoctorId = existingAppointment.getDoctor().getId();
+        LocalDateTime previousStart = existingAppointment.getAppointmentTime();
+        LocalDateTime previousEnd = existingAppointment.resolveEndTime();
 
-        // If appointment time is being changed, check for conflicts
+        // Keep the current duration unless a new one is given
+        if (updatedAppointment.getDurationMinutes() == null) {
+            updatedAppointment.setDurationMinutes(existingAppointment.getDurationMinutes());
+        }
+        validateDuration(updatedAppointment);
+
+        // If appointment time or duration is being changed, check for conflicts
         if (!existingAppointment.getAppointmentTime().equals(updatedAppointment.getAppointmentTime()) ||
+        !existingAppointment.getDurationMinutes().equals(updatedAppointment.getDurationMinutes()) ||
         !existingAppointment.getDoctor().getId().equals(updatedAppointment.getDoctor().getId())) {
             validateAppointmentConflicts(updatedAppointment, appointmentId);
         }
 
         if (!existingAppointment.getDoctor().getId().equals(updatedAppointment.getDoctor().getId())) {
-            Doctor doctor = doctorService.getDoctorById(updatedAppointment.getDoctor().getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + updatedAppointment.getDoctor().getId()));
-            existingAppointment.setDoctor(doctor);
+            existingAppointment.setDoctor(doctorService.getExistingDoctorReference(updatedAppointment.getDoctor().getId()));
         }
 
         // Update fields
         existingAppointment.setAppointmentTime(updatedAppointment.getAppointmentTime());
+        existingAppointment.setDurationMinutes(updatedAppointment.getDurationMinutes());
         existingAppointment.setReason(updatedAppointment.getReason());
 
         Appointment savedAppointment = appointmentRepository.save(existingAppointment);
+        appointmentIntervalIndex.recordReschedule(savedAppointment, previousDoctorId);
+        doctorAgendaCache.evictAfterCommit(previousDoctorId, previousStart, previousEnd);
+        doctorAgendaCache.evictAfterCommit(savedAppointment.getDoctor().getId(),
+                savedAppointment.getAppointmentTime(), savedAppointment.resolveEndTime());
+        publishAfterCommit(AppointmentEvent.rescheduled(savedAppointment, previousDoctorId, previousStart));
         log.info("Appointment updated successfully: {}", savedAppointment.getId());
 
         return savedAppointment;
@@ -136,25 +530,92 @@ public class AppointmentService {
         }
 
         appointmentRepository.delete(appointment);
+        appointmentIntervalIndex.recordCancellation(appointmentId, appointment.getDoctor().getId());
+        doctorAgendaCache.evictAfterCommit(appointment.getDoctor().getId(),
+                appointment.getAppointmentTime(), appointment.resolveEndTime());
+        publishAfterCommit(AppointmentEvent.cancelled(appointment));
         log.info("Appointment canceled successfully: {}", appointmentId);
     }
 
     @Transactional(readOnly = true)
     public boolean isDoctorAvailable(Long doctorId, LocalDateTime appointmentTime, Long excludeAppointmentId) {
-        // Define appointment duration (e.g., 30 minutes)
-        LocalDateTime appointmentEnd = appointmentTime.plusMinutes(30);
-        LocalDateTime appointmentStart = appointmentTime.minusMinutes(30);
+        return isDoctorAvailable(doctorId, appointmentTime,
+                appointmentTime.plusMinutes(Appointment.DEFAULT_DURATION_MINUTES), excludeAppointmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isDoctorAvailable(Long doctorId, LocalDateTime appointmentStart, LocalDateTime appointmentEnd,
+                                     Long excludeAppointmentId) {
+        return doctorAvailabilityService.isOnDuty(doctorId, appointmentStart, appointmentEnd)
+                && appointmentIntervalIndex.isSlotFree(doctorId, appointmentStart, appointmentEnd, excludeAppointmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getDailyAppointmentCounts(LocalDate startDate, LocalDate endDate) {
+        log.debug("Counting appointments per doctor per day between {} and {}", startDate, endDate);
+        return appointmentRepository.countPerDoctorPerDay(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getDailyAppointmentCounts(Collection<Long> doctorIds, LocalDate startDate,
+                                                                  LocalDate endDate) {
+        log.debug("Counting appointments per day for {} doctors between {} and {}", doctorIds.size(), startDate, endDate);
+        if (doctorIds.isEmpty()) {
+            return List.of();
+        }
+        return appointmentRepository.countPerDoctorPerDay(doctorIds, startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getHourlyAppointmentCounts(LocalDate startDate, LocalDate endDate) {
+        log.debug("Counting appointments per doctor per hour between {} and {}", startDate, endDate);
+        return appointmentRepository.countPerDoctorPerHour(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimeSlot> findNextAvailableSlots(Long doctorId, LocalDateTime from, int durationMinutes, int count) {
+        log.debug("Finding {} free slots of {} minutes for doctor {} from {}", count, durationMinutes, doctorId, from);
+
+        if (durationMinutes <= 0 || durationMinutes > Appointment.MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Appointment duration must be between 1 and "
+                    + Appointment.MAX_DURATION_MINUTES + " minutes");
+        }
+        if (count <= 0 || count > MAX_SLOTS_PER_SEARCH) {
+            throw new IllegalArgumentException("Slot count must be between 1 and " + MAX_SLOTS_PER_SEARCH);
+        }
+
+        // Verify doctor exists
+        doctorService.getDirectoryEntry(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
 
-        List<Appointment> conflictingAppointments;
+        List<TimeSlot> slots = new ArrayList<>();
+        LocalDate weekStart = from.toLocalDate();
+        LocalDate searchEnd = weekStart.plusDays(SLOT_SEARCH_HORIZON_DAYS);
 
-        if (excludeAppointmentId != null) {
-            conflictingAppointments = appointmentRepository
-                    .findConflictingAppointmentsExcluding(doctorId, appointmentStart, appointmentEnd, excludeAppointmentId);
-        } else {
-            conflictingAppointments = appointmentRepository
-                    .findConflictingAppointments(doctorId, appointmentStart, appointmentEnd);
+        // One range scan per week of bookings instead of one conflict query per probed slot
+        while (slots.size() < count && weekStart.isBefore(searchEnd)) {
+            LocalDate weekEnd = weekStart.plusWeeks(1);
+            List<AppointmentInterval> bookings = findDoctorIntervals(doctorId,
+                    weekStart.atStartOfDay(), weekEnd.atStartOfDay());
+
+            List<TimeSlot> openWindows = doctorAvailabilityService.onDutyWindows(doctorId, weekStart, weekEnd);
+
+            slots.addAll(freeSlotFinder.findSlots(bookings, openWindows, from, durationMinutes, count - slots.size()));
+            weekStart = weekEnd;
         }
-        return conflictingAppointments.isEmpty();
+        return slots;
+    }
+
+    @Transactional(readOnly = true)
+    public DoctorDailyAvailability getDailyAvailability(Long doctorId, LocalDate date) {
+        log.debug("Computing availability of doctor {} on {}", doctorId, date);
+
+        doctorService.getDirectoryEntry(doctorId)
+                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
+
+        return doctorAvailabilityService.dailyAvailability(doctorId, date,
+                findDoctorIntervals(doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
     }
 
     @Transactional(readOnly = true)
@@ -164,9 +625,15 @@ public class AppointmentService {
 
         return appointmentRepository.countByDoctorIdAndAppointmentTimeBetween(doctorId, startDateTime, endDateTime);
     }
+
     private void validateAppointmentConflicts(Appointment appointment, Long excludeAppointmentId) {
-        if (!isDoctorAvailable(appointment.getDoctor().getId(), appointment.getAppointmentTime(), excludeAppointmentId)) {
-            throw new IllegalArgumentException("Doctor is not available at the requested time");
+        if (!doctorAvailabilityService.isOnDuty(appointment.getDoctor().getId(), appointment.getAppointmentTime(),
+                appointment.resolveEndTime())) {
+            throw new AppointmentConflictException("Doctor is off duty at the requested time");
+        }
+        if (!appointmentIntervalIndex.isSlotFree(appointment.getDoctor().getId(), appointment.getAppointmentTime(),
+                appointment.resolveEndTime(), excludeAppointmentId)) {
+            throw new AppointmentConflictException("Doctor is not available at the requested time");
         }
     }
 
@@ -174,4 +641,70 @@ public class AppointmentService {
         validateAppointmentConflicts(appointment, null);
     }
 
+    private static Limit pageLimit(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Fetch one extra row to know whether another page follows
+        return Limit.of(pageSize + 1);
+    }
+
+    private static KeysetPage<Appointment> toPage(List<Appointment> appointments, int pageSize) {
+        return toPage(appointments, pageSize, last -> new AppointmentCursor(last.getAppointmentTime(), last.getId()));
+    }
+
+    private static <T> KeysetPage<T> toPage(List<T> rows, int pageSize, Function<T, AppointmentCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(pageSize - 1)));
+    }
+
+    private List<AppointmentInterval> findDoctorIntervals(Long doctorId, LocalDateTime from, LocalDateTime to) {
+        return appointmentIntervalIndex.findIntervals(doctorId, from, to)
+                .orElseGet(() -> appointmentRepository.findIntervalsByDoctorStartingBetween(doctorId,
+                        from.minusMinutes(Appointment.MAX_DURATION_MINUTES), to).stream()
+                        .filter(interval -> interval.overlaps(from, to))
+                        .toList());
+    }
+
+    private void validateDuration(Appointment appointment) {
+        String error = durationError(appointment);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static String durationError(Appointment appointment) {
+        int duration = appointment.resolveDurationMinutes();
+        if (duration <= 0 || duration > Appointment.MAX_DURATION_MINUTES) {
+            return "Appointment duration must be between 1 and " + Appointment.MAX_DURATION_MINUTES + " minutes";
+        }
+        // The overlap exclusion constraint lives on each monthly partition, so it cannot see a booking
+        // spilling into the next month
+        LocalDateTime nextMonth = YearMonth.from(appointment.getAppointmentTime()).plusMonths(1).atDay(1).atStartOfDay();
+        if (appointment.resolveEndTime().isAfter(nextMonth)) {
+            return "Appointments cannot run past midnight at the end of a month";
+        }
+        return null;
+    }
+
+    // Side effects run off the request thread, and only for committed changes
+    private void publishAfterCommit(AppointmentEvent event) {
+        TransactionCallbacks.afterCommit(() -> appointmentEventPipeline.publish(event));
+    }
+
+    private <T> T translateOverlapViolation(Supplier<T> booking) {
+        try {
+            return booking.get();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent booking on another instance won the slot
+            if (ConstraintViolations.isViolationMatching(ex, DOCTOR_OVERLAP_CONSTRAINT)) {
+                throw new AppointmentConflictException("Doctor is not available at the requested time");
+            }
+            throw ex;
+        }
+    }
+
 }
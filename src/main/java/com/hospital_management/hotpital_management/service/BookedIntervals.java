@@ -0,0 +1,73 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.model.Appointment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * One doctor's bookings ordered by start time. Not thread-safe.
+ */
+public final class BookedIntervals {
+
+    private static final Comparator<AppointmentInterval> BY_START =
+            Comparator.comparing(AppointmentInterval::start).thenComparing(AppointmentInterval::id);
+
+    private final NavigableSet<AppointmentInterval> byStart = new TreeSet<>(BY_START);
+    private final Map<Long, AppointmentInterval> byId = new HashMap<>();
+
+    public BookedIntervals() {
+    }
+
+    public BookedIntervals(Collection<AppointmentInterval> bookings) {
+        bookings.forEach(this::add);
+    }
+
+    public void add(AppointmentInterval interval) {
+        remove(interval.id());
+        byStart.add(interval);
+        byId.put(interval.id(), interval);
+    }
+
+    public void remove(Long appointmentId) {
+        AppointmentInterval existing = byId.remove(appointmentId);
+        if (existing != null) {
+            byStart.remove(existing);
+        }
+    }
+
+    public boolean hasConflict(LocalDateTime from, LocalDateTime to, Long excludeAppointmentId) {
+        for (AppointmentInterval interval : candidates(from, to)) {
+            if (interval.overlaps(from, to) && !interval.id().equals(excludeAppointmentId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<AppointmentInterval> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<AppointmentInterval> result = new ArrayList<>();
+        for (AppointmentInterval interval : candidates(from, to)) {
+            if (interval.overlaps(from, to)) {
+                result.add(interval);
+            }
+        }
+        return result;
+    }
+
+    private NavigableSet<AppointmentInterval> candidates(LocalDateTime from, LocalDateTime to) {
+        // Only bookings starting within one maximum duration before the window can reach into it
+        AppointmentInterval lower = new AppointmentInterval(Long.MIN_VALUE, null,
+                from.minusMinutes(Appointment.MAX_DURATION_MINUTES), null);
+        AppointmentInterval upper = new AppointmentInterval(Long.MIN_VALUE, null, to, null);
+        return byStart.subSet(lower, true, upper, false);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hospital_management.hotpital_management.repository.AppointmentRepository;
+import com.hospital_management.hotpital_management.repository.DoctorRepository;
+import com.hospital_management.hotpital_management.repository.PatientRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as NDJSON (one JSON object per line) straight to an output stream.
+ * Rows come from forward-only cursors as flat projections, so neither the persistence
+ * context nor the heap grows with the table size.
+ */
+@Slf4j
+@Service
+public class DataExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final PatientRepository patientRepository;
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ObjectMapper objectMapper;
+    // Flushing is left to FLUSH_INTERVAL; the mapper default would flush the socket after every row
+    private final ObjectWriter rowWriter;
+
+    public DataExportService(PatientRepository patientRepository,
+                             DoctorRepository doctorRepository,
+                             AppointmentRepository appointmentRepository,
+                             ObjectMapper objectMapper) {
+        this.patientRepository = patientRepository;
+        this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportPatients(OutputStream out) throws IOException {
+        return writeNdjson("patients", patientRepository.streamExportRows(), out);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportDoctors(OutputStream out) throws IOException {
+        return writeNdjson("doctors", doctorRepository.streamExportRows(), out);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAppointments(OutputStream out) throws IOException {
+        return writeNdjson("appointments", appointmentRepository.streamAllSummaries(), out);
+    }
+
+    private <T> long writeNdjson(String name, Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The caller owns the output stream, and rows are separated by newlines rather than spaces
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.info("Exported {} {}", count, name);
+        return count;
+    }
+}
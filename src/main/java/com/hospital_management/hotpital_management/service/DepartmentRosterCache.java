@@ -0,0 +1,58 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.DepartmentRoster;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * The department roster as a single versioned snapshot. Every write that changes what the
+ * roster shows bumps the version after commit, and the next read rebuilds the snapshot. A
+ * snapshot is only installed if the version did not move while it was being loaded, so a
+ * read racing with a write never caches the old roster under the new version. The TTL only
+ * bounds staleness for writes made outside this instance.
+ */
+@Slf4j
+@Component
+public class DepartmentRosterCache {
+
+    private final AtomicLong version = new AtomicLong();
+    private final long ttlMillis;
+    private final Clock clock = Clock.systemUTC();
+
+    private volatile Snapshot snapshot;
+
+    public DepartmentRosterCache(@Value("${department.roster-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // The loader receives the version to stamp on the roster it builds
+    public DepartmentRoster get(LongFunction<DepartmentRoster> loader) {
+        long current = version.get();
+        long now = clock.millis();
+        Snapshot cached = snapshot;
+        if (cached != null && cached.roster().version() == current && cached.expiresAt() > now) {
+            return cached.roster();
+        }
+
+        DepartmentRoster roster = loader.apply(current);
+        synchronized (this) {
+            if (version.get() == current) {
+                snapshot = new Snapshot(roster, now + ttlMillis);
+            }
+        }
+        log.debug("Rebuilt department roster version {} with {} departments", current, roster.departments().size());
+        return roster;
+    }
+
+    public void invalidateAfterCommit() {
+        TransactionCallbacks.afterCommit(version::incrementAndGet);
+    }
+
+    private record Snapshot(DepartmentRoster roster, long expiresAt) {
+    }
+}
@@ -1,5 +1,9 @@
 package com.hospital_management.hotpital_management.service;
 
+import com.hospital_management.hotpital_management.dto.DepartmentMemberRow;
+import com.hospital_management.hotpital_management.dto.DepartmentRoster;
+import com.hospital_management.hotpital_management.dto.DepartmentRosterEntry;
+import com.hospital_management.hotpital_management.dto.RosterDoctor;
 import com.hospital_management.hotpital_management.model.Department;
 import com.hospital_management.hotpital_management.model.Doctor;
 import com.hospital_management.hotpital_management.repository.DepartmentRepository;
@@ -8,7 +12,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -17,8 +25,12 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class DepartmentService {
 
+    private static final int MAX_BULK_MEMBERS = 1000;
+
     private final DepartmentRepository departmentRepository;
     private final DoctorService doctorService;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+    private final DepartmentRosterCache departmentRosterCache;
 
 
     public Department createDepartment(Department department) {
@@ -30,6 +42,7 @@ public class DepartmentService {
         }
 
         Department savedDepartment = departmentRepository.save(department);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Department created successfully with ID: {}", savedDepartment.getId());
 
         return savedDepartment;
@@ -68,69 +81,130 @@ public class DepartmentService {
         existingDepartment.setName(updatedDepartment.getName());
 
         Department savedDepartment = departmentRepository.save(existingDepartment);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Department updated successfully: {}", savedDepartment.getId());
 
         return savedDepartment;
     }
 
+    @Transactional
     public Department assignHeadDoctor(Long departmentId, Long doctorId) {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
 
-        Doctor doctor = doctorService.getDoctorById(doctorId)
-                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
-
-        if (!department.getDoctors().contains(doctor)) {
+        // Membership implies the doctor exists, so a reference is enough
+        if (!departmentRepository.isMember(departmentId, doctorId)) {
             throw new IllegalArgumentException("Doctor must be a member of the department before becoming head");
         }
 
-        department.setHeadDoctor(doctor);
+        department.setHeadDoctor(doctorService.getDoctorReference(doctorId));
 
         Department savedDepartment = departmentRepository.save(department);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Head doctor assigned successfully to department: {}", departmentId);
 
         return savedDepartment;
     }
 
+    @Transactional
     public Department addDoctorToDepartment(Long departmentId, Long doctorId) {
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
 
-        Doctor doctor = doctorService.getDoctorById(doctorId)
-                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
+        // Checked against the database rather than the directory cache before writing the membership row
+        if (doctorService.findExistingDoctorIds(Set.of(doctorId)).isEmpty()) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + doctorId);
+        }
 
-        if (department.getDoctors().contains(doctor)) {
+        if (departmentRepository.addMember(departmentId, doctorId) == 0) {
             throw new IllegalArgumentException("Doctor is already a member of this department");
         }
 
-        department.getDoctors().add(doctor);
-        Department savedDepartment = departmentRepository.save(department);
+        doctorDirectoryCache.evictEntryAfterCommit(doctorId);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Doctor added successfully to department: {}", departmentId);
 
-        return savedDepartment;
+        return department;
     }
 
+    @Transactional
     public Department removeDoctorFromDepartment(Long departmentId, Long doctorId) {
         log.info("Removing doctor {} from department {}", doctorId, departmentId);
 
         Department department = departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
 
-        Doctor doctor = doctorService.getDoctorById(doctorId)
-                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
-
-        if (department.getHeadDoctor() != null && department.getHeadDoctor().equals(doctor)) {
+        if (department.getHeadDoctor() != null && department.getHeadDoctor().getId().equals(doctorId)) {
             throw new IllegalArgumentException("Cannot remove head doctor from department. Assign a new head first.");
         }
 
-        if (!department.getDoctors().remove(doctor)) {
+        if (departmentRepository.removeMember(departmentId, doctorId) == 0) {
             throw new IllegalArgumentException("Doctor is not a member of this department");
         }
 
-        Department savedDepartment = departmentRepository.save(department);
+        doctorDirectoryCache.evictEntryAfterCommit(doctorId);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Doctor removed successfully from department: {}", departmentId);
 
-        return savedDepartment;
+        return department;
+    }
+
+    // Returns how many of the doctors were added; existing members are skipped
+    @Transactional
+    public int addDoctorsToDepartment(Long departmentId, Collection<Long> doctorIds) {
+        log.info("Adding {} doctors to department {}", doctorIds.size(), departmentId);
+        validateBulkSize(doctorIds);
+
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new IllegalArgumentException("Department not found with ID: " + departmentId);
+        }
+
+        Set<Long> existingDoctorIds = doctorService.findExistingDoctorIds(doctorIds);
+        if (existingDoctorIds.size() < Set.copyOf(doctorIds).size()) {
+            List<Long> missing = doctorIds.stream().filter(id -> !existingDoctorIds.contains(id)).distinct().toList();
+            throw new IllegalArgumentException("Doctors not found with IDs: " + missing);
+        }
+
+        int added = departmentRepository.addMembers(departmentId, existingDoctorIds);
+        existingDoctorIds.forEach(doctorDirectoryCache::evictEntryAfterCommit);
+        departmentRosterCache.invalidateAfterCommit();
+        log.info("Added {} doctors to department {}", added, departmentId);
+        return added;
+    }
+
+    // Returns how many of the doctors were removed; non-members are skipped
+    @Transactional
+    public int removeDoctorsFromDepartment(Long departmentId, Collection<Long> doctorIds) {
+        log.info("Removing {} doctors from department {}", doctorIds.size(), departmentId);
+        validateBulkSize(doctorIds);
+
+        Department department = departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
+        if (department.getHeadDoctor() != null && doctorIds.contains(department.getHeadDoctor().getId())) {
+            throw new IllegalArgumentException("Cannot remove head doctor from department. Assign a new head first.");
+        }
+
+        int removed = departmentRepository.removeMembers(departmentId, doctorIds);
+        doctorIds.forEach(doctorDirectoryCache::evictEntryAfterCommit);
+        departmentRosterCache.invalidateAfterCommit();
+        log.info("Removed {} doctors from department {}", removed, departmentId);
+        return removed;
+    }
+
+    // Every department with its head and members, loaded in two statements and served from a versioned snapshot
+    @Transactional(readOnly = true)
+    public DepartmentRoster getDepartmentRoster() {
+        return departmentRosterCache.get(version -> {
+            Map<Long, List<RosterDoctor>> membersByDepartment = new HashMap<>();
+            for (DepartmentMemberRow row : departmentRepository.findRosterMembers()) {
+                membersByDepartment.computeIfAbsent(row.departmentId(), id -> new ArrayList<>())
+                        .add(new RosterDoctor(row.doctorId(), row.doctorName()));
+            }
+            List<DepartmentRosterEntry> departments = departmentRepository.findRosterEntries().stream()
+                    .map(entry -> entry.withMembers(membersByDepartment.getOrDefault(entry.id(), List.of())))
+                    .toList();
+            return new DepartmentRoster(version, departments);
+        });
     }
 
     @Transactional(readOnly = true)
@@ -141,6 +215,14 @@ public class DepartmentService {
         return department.getDoctors();
     }
 
+    @Transactional(readOnly = true)
+    public List<Long> getDepartmentDoctorIds(Long departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new IllegalArgumentException("Department not found with ID: " + departmentId);
+        }
+        return departmentRepository.findDoctorIds(departmentId);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Doctor> getDepartmentHeadDoctor(Long departmentId) {
         Department department = departmentRepository.findById(departmentId)
@@ -161,6 +243,7 @@ public class DepartmentService {
         }
 
         departmentRepository.delete(department);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Department deleted successfully: {}", departmentId);
     }
 
@@ -169,4 +252,10 @@ public class DepartmentService {
             throw new IllegalArgumentException("Department name is required");
         }
     }
+
+    private void validateBulkSize(Collection<Long> doctorIds) {
+        if (doctorIds.isEmpty() || doctorIds.size() > MAX_BULK_MEMBERS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_MEMBERS + " doctors can be changed at once");
+        }
+    }
 }
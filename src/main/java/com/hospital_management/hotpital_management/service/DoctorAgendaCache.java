@@ -0,0 +1,54 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.cache.BoundedCache;
+import com.hospital_management.hotpital_management.cache.CacheStats;
+import com.hospital_management.hotpital_management.dto.AppointmentSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Agenda of a doctor for one day, keyed by (doctorId, date). Entries are evicted after commit by
+ * every write touching that doctor and day; the TTL only bounds staleness for writes made
+ * outside this instance.
+ */
+@Slf4j
+@Component
+public class DoctorAgendaCache {
+
+    private final BoundedCache<AgendaKey, List<AppointmentSummary>> cache;
+
+    public DoctorAgendaCache(@Value("${appointment.agenda-cache.max-entries:2000}") int maxEntries,
+                             @Value("${appointment.agenda-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    public List<AppointmentSummary> get(Long doctorId, LocalDate date, Supplier<List<AppointmentSummary>> loader) {
+        return cache.get(new AgendaKey(doctorId, date), () -> List.copyOf(loader.get()));
+    }
+
+    public void evictAfterCommit(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        TransactionCallbacks.afterCommit(() -> evict(doctorId, start, end));
+    }
+
+    public void evict(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        // An appointment crossing midnight shows up on every day it touches
+        for (LocalDate date = start.toLocalDate(); !date.isAfter(end.toLocalDate()); date = date.plusDays(1)) {
+            cache.invalidate(new AgendaKey(doctorId, date));
+        }
+        log.debug("Evicted agenda of doctor {} between {} and {}", doctorId, start, end);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record AgendaKey(Long doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.DoctorAppointmentCount;
+import com.hospital_management.hotpital_management.error.AppointmentConflictException;
+import com.hospital_management.hotpital_management.model.Appointment;
+import com.hospital_management.hotpital_management.model.Doctor;
+import com.hospital_management.hotpital_management.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoctorAssignmentService {
+
+    private final AppointmentService appointmentService;
+    private final DoctorService doctorService;
+    private final DepartmentService departmentService;
+    private final AppointmentRepository appointmentRepository;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+
+    public Appointment scheduleWithSpecialization(Appointment appointment, String specialization) {
+        log.info("Scheduling appointment at {} with any doctor specialised in {}", appointment.getAppointmentTime(), specialization);
+        return scheduleWithLeastLoadedDoctor(appointment, doctorService.getDoctorIdsBySpecialization(specialization));
+    }
+
+    public Appointment scheduleWithDepartment(Appointment appointment, Long departmentId) {
+        log.info("Scheduling appointment at {} with any doctor of department {}", appointment.getAppointmentTime(), departmentId);
+        return scheduleWithLeastLoadedDoctor(appointment, departmentService.getDepartmentDoctorIds(departmentId));
+    }
+
+    public Appointment scheduleWithLeastLoadedDoctor(Appointment appointment, Collection<Long> candidateDoctorIds) {
+        List<Long> ranking = rankAvailableDoctors(candidateDoctorIds, appointment.getAppointmentTime(), appointment.resolveEndTime());
+
+        // scheduleAppointment re-checks under the doctor lock, so a lost race just moves on to the next candidate
+        for (Long doctorId : ranking) {
+            Doctor doctor = new Doctor();
+            doctor.setId(doctorId);
+            appointment.setDoctor(doctor);
+            try {
+                return appointmentService.scheduleAppointment(appointment);
+            } catch (AppointmentConflictException ex) {
+                // A rolled-back insert may already have assigned an id
+                appointment.setId(null);
+                log.debug("Doctor {} was booked concurrently, trying next candidate", doctorId);
+            }
+        }
+        throw new AppointmentConflictException("No candidate doctor is available at the requested time");
+    }
+
+    /**
+     * Candidates on duty and free for {@code [start, end)} ordered by their number of bookings that
+     * day, least loaded first. Uses two statements regardless of the number of candidates, plus two
+     * for any duty schedules not yet cached.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> rankAvailableDoctors(Collection<Long> candidateDoctorIds, LocalDateTime start, LocalDateTime end) {
+        if (candidateDoctorIds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> candidates = doctorAvailabilityService.filterOnDuty(new HashSet<>(candidateDoctorIds), start, end);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        candidates.removeAll(appointmentRepository.findBusyDoctorIds(candidates, start, end));
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate day = start.toLocalDate();
+        Map<Long, Long> load = appointmentService.getDailyAppointmentCounts(candidates, day, day).stream()
+                .collect(Collectors.toMap(DoctorAppointmentCount::doctorId, DoctorAppointmentCount::count, Long::sum));
+
+        return candidates.stream()
+                .sorted(Comparator.<Long>comparingLong(doctorId -> load.getOrDefault(doctorId, 0L))
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+    }
+}
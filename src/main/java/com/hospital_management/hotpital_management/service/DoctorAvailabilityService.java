@@ -0,0 +1,222 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.cache.BoundedCache;
+import com.hospital_management.hotpital_management.cache.CacheStats;
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.dto.DoctorDailyAvailability;
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+import com.hospital_management.hotpital_management.model.Doctor;
+import com.hospital_management.hotpital_management.model.DoctorLeave;
+import com.hospital_management.hotpital_management.model.DoctorShift;
+import com.hospital_management.hotpital_management.repository.DoctorLeaveRepository;
+import com.hospital_management.hotpital_management.repository.DoctorRepository;
+import com.hospital_management.hotpital_management.repository.DoctorShiftRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Answers when a doctor is on duty from their weekly roster (working shifts minus breaks)
+ * and dated leave, held in memory as per-day minute masks.
+ * <p>
+ * Doctors without a roster are not restricted when booking, only by their leave; for slot
+ * search and capacity their duty hours default to the clinic opening hours. Leave is loaded
+ * from the start of the current day onwards. Schedules are evicted after commit on every
+ * roster or leave change; the TTL only bounds staleness for changes made on other instances.
+ */
+@Slf4j
+@Service
+public class DoctorAvailabilityService {
+
+    private final DoctorShiftRepository doctorShiftRepository;
+    private final DoctorLeaveRepository doctorLeaveRepository;
+    private final DoctorRepository doctorRepository;
+    private final FreeSlotFinder freeSlotFinder;
+    private final BoundedCache<Long, DoctorSchedule> schedules;
+
+    public DoctorAvailabilityService(DoctorShiftRepository doctorShiftRepository,
+                                     DoctorLeaveRepository doctorLeaveRepository,
+                                     DoctorRepository doctorRepository,
+                                     FreeSlotFinder freeSlotFinder,
+                                     @Value("${doctor.availability-cache.max-entries:1000}") int maxEntries,
+                                     @Value("${doctor.availability-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.doctorShiftRepository = doctorShiftRepository;
+        this.doctorLeaveRepository = doctorLeaveRepository;
+        this.doctorRepository = doctorRepository;
+        this.freeSlotFinder = freeSlotFinder;
+        this.schedules = new BoundedCache<>(maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isOnDuty(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        return isOnDuty(schedule(doctorId), start, end);
+    }
+
+    /**
+     * The doctors among {@code doctorIds} on duty for the whole of {@code [start, end)}. Schedules
+     * missing from the cache are loaded together, with one statement for rosters and one for leave.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> filterOnDuty(Collection<Long> doctorIds, LocalDateTime start, LocalDateTime end) {
+        Map<Long, DoctorSchedule> loaded = schedules.getAll(doctorIds, this::loadSchedules);
+        return doctorIds.stream()
+                .filter(doctorId -> isOnDuty(loaded.get(doctorId), start, end))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static boolean isOnDuty(DoctorSchedule schedule, LocalDateTime start, LocalDateTime end) {
+        if (!schedule.hasRoster()) {
+            return !schedule.overlapsLeave(start, end);
+        }
+        for (LocalDate date = start.toLocalDate(); date.atStartOfDay().isBefore(end); date = date.plusDays(1)) {
+            if (!MinuteMask.covers(schedule.dutyMask(date, List.of()), date, start, end)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Duty windows over {@code [fromDate, toDate)} sorted by start; windows meeting at midnight
+     * are joined so overnight shifts stay one window, except into the first of a month, which
+     * bookings cannot cross.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlot> onDutyWindows(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+        DoctorSchedule schedule = schedule(doctorId);
+        List<TimeSlot> windows = new ArrayList<>();
+        for (LocalDate date = fromDate; date.isBefore(toDate); date = date.plusDays(1)) {
+            for (TimeSlot window : MinuteMask.windows(dutyMask(schedule, date), date)) {
+                int last = windows.size() - 1;
+                if (last >= 0 && windows.get(last).end().equals(window.start()) && date.getDayOfMonth() != 1) {
+                    windows.set(last, new TimeSlot(windows.get(last).start(), window.end()));
+                } else {
+                    windows.add(window);
+                }
+            }
+        }
+        return windows;
+    }
+
+    // bookings: the doctor's appointments overlapping the day
+    @Transactional(readOnly = true)
+    public DoctorDailyAvailability dailyAvailability(Long doctorId, LocalDate date, List<AppointmentInterval> bookings) {
+        BitSet onDuty = dutyMask(schedule(doctorId), date);
+        BitSet booked = MinuteMask.empty();
+        for (AppointmentInterval booking : bookings) {
+            MinuteMask.set(booked, date, booking.start(), booking.end(), true);
+        }
+        BitSet free = (BitSet) onDuty.clone();
+        free.andNot(booked);
+        return new DoctorDailyAvailability(doctorId, date, onDuty.cardinality(), booked.cardinality(),
+                free.cardinality(), MinuteMask.windows(free, date));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DoctorShift> getWeeklyRoster(Long doctorId) {
+        return doctorShiftRepository.findByDoctorId(doctorId);
+    }
+
+    // Replaces the doctor's whole roster; an empty list removes it
+    @Transactional
+    public List<DoctorShift> replaceWeeklyRoster(Long doctorId, List<DoctorShift> shifts) {
+        log.info("Replacing weekly roster of doctor {} with {} shifts", doctorId, shifts.size());
+        Doctor doctor = requireDoctor(doctorId);
+        for (DoctorShift shift : shifts) {
+            if (shift.getDayOfWeek() == null || shift.getStartTime() == null || shift.getEndTime() == null
+                    || shift.getType() == null) {
+                throw new IllegalArgumentException("Shift day, start, end and type are required");
+            }
+            if (shift.getStartTime().equals(shift.getEndTime())) {
+                throw new IllegalArgumentException("Shift start and end must differ");
+            }
+            shift.setId(null);
+            shift.setDoctor(doctor);
+        }
+        doctorShiftRepository.deleteByDoctorId(doctorId);
+        List<DoctorShift> savedShifts = doctorShiftRepository.saveAll(shifts);
+        evictAfterCommit(doctorId);
+        return savedShifts;
+    }
+
+    @Transactional
+    public DoctorLeave addLeave(Long doctorId, LocalDateTime start, LocalDateTime end, String reason) {
+        log.info("Adding leave for doctor {} from {} to {}", doctorId, start, end);
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("Leave end must be after its start");
+        }
+        DoctorLeave leave = doctorLeaveRepository.save(DoctorLeave.builder()
+                .doctor(requireDoctor(doctorId))
+                .startTime(start)
+                .endTime(end)
+                .reason(reason)
+                .build());
+        evictAfterCommit(doctorId);
+        return leave;
+    }
+
+    @Transactional
+    public void removeLeave(Long leaveId) {
+        DoctorLeave leave = doctorLeaveRepository.findById(leaveId)
+                .orElseThrow(() -> new IllegalArgumentException("Leave not found with ID: " + leaveId));
+        Long doctorId = leave.getDoctor().getId();
+        doctorLeaveRepository.delete(leave);
+        evictAfterCommit(doctorId);
+        log.info("Removed leave {} of doctor {}", leaveId, doctorId);
+    }
+
+    public CacheStats cacheStats() {
+        return schedules.stats();
+    }
+
+    private BitSet dutyMask(DoctorSchedule schedule, LocalDate date) {
+        return schedule.dutyMask(date, schedule.hasRoster() ? List.of() : freeSlotFinder.openingHours(date));
+    }
+
+    private DoctorSchedule schedule(Long doctorId) {
+        return schedules.get(doctorId, () -> loadSchedules(Set.of(doctorId)).get(doctorId));
+    }
+
+    private Map<Long, DoctorSchedule> loadSchedules(Set<Long> doctorIds) {
+        Map<Long, List<DoctorShift>> shifts = doctorShiftRepository.findByDoctorIdIn(doctorIds).stream()
+                .collect(Collectors.groupingBy(shift -> shift.getDoctor().getId()));
+        Map<Long, List<TimeSlot>> leaves = doctorLeaveRepository
+                .findUpcomingByDoctorIds(doctorIds, LocalDate.now().atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(leave -> leave.getDoctor().getId(),
+                        Collectors.mapping(leave -> new TimeSlot(leave.getStartTime(), leave.getEndTime()),
+                                Collectors.toList())));
+
+        Map<Long, DoctorSchedule> loaded = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            List<DoctorShift> doctorShifts = shifts.get(doctorId);
+            loaded.put(doctorId, new DoctorSchedule(doctorShifts == null ? null : new WeeklyRoster(doctorShifts),
+                    List.copyOf(leaves.getOrDefault(doctorId, List.of()))));
+        }
+        return loaded;
+    }
+
+    private Doctor requireDoctor(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + doctorId);
+        }
+        return doctorRepository.getReferenceById(doctorId);
+    }
+
+    private void evictAfterCommit(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> schedules.invalidate(doctorId));
+    }
+}
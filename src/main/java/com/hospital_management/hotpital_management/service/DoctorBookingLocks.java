@@ -0,0 +1,62 @@
+package com.hospital_management.hotpital_management.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-doctor locks that serialise bookings for the same doctor while bookings
+ * for different doctors proceed in parallel. Callers must hold the lock until the booking
+ * transaction has committed.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public DoctorBookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withDoctorLock(Long doctorId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripe(doctorId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withDoctorLocks(Collection<Long> doctorIds, Supplier<T> action) {
+        // Acquire stripes in ascending order so overlapping multi-doctor callers cannot deadlock
+        int[] stripes = doctorIds.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripe(Long doctorId) {
+        return Math.floorMod(Long.hashCode(doctorId), STRIPES);
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.cache.BoundedCache;
+import com.hospital_management.hotpital_management.cache.CacheStats;
+import com.hospital_management.hotpital_management.dto.DoctorDirectoryEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-mostly directory of doctors with three views: entries by id, and doctor ids by email and
+ * by specialization. Only the id view holds entries, so a doctor change evicts a single entry
+ * plus the two small key views. Evictions run after commit; the TTL only bounds staleness for
+ * writes made outside this instance. Absent doctors are not cached.
+ */
+@Slf4j
+@Component
+public class DoctorDirectoryCache {
+
+    private final BoundedCache<Long, DoctorDirectoryEntry> byId;
+    private final BoundedCache<String, Long> idByEmail;
+    private final BoundedCache<String, List<Long>> idsBySpecialization;
+
+    public DoctorDirectoryCache(@Value("${doctor.directory-cache.max-entries:1000}") int maxEntries,
+                                @Value("${doctor.directory-cache.ttl-seconds:600}") long ttlSeconds) {
+        Duration timeToLive = Duration.ofSeconds(ttlSeconds);
+        this.byId = new BoundedCache<>(maxEntries, timeToLive);
+        this.idByEmail = new BoundedCache<>(maxEntries, timeToLive);
+        this.idsBySpecialization = new BoundedCache<>(maxEntries, timeToLive);
+    }
+
+    public Optional<DoctorDirectoryEntry> get(Long doctorId, Supplier<Optional<DoctorDirectoryEntry>> loader) {
+        return Optional.ofNullable(byId.get(doctorId, () -> loader.get().orElse(null)));
+    }
+
+    public Optional<Long> getIdByEmail(String email, Supplier<Optional<Long>> loader) {
+        return Optional.ofNullable(idByEmail.get(email, () -> loader.get().orElse(null)));
+    }
+
+    // Inverted index from normalised specialization to doctor ids, filled on demand
+    public List<Long> getIdsBySpecialization(String specialization, Supplier<List<Long>> loader) {
+        return idsBySpecialization.get(SpecializationService.normalize(specialization), () -> List.copyOf(loader.get()));
+    }
+
+    // For changes to the doctor row itself: its email or specialization may have moved
+    public void evictDoctorAfterCommit(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (doctorId != null) {
+                byId.invalidate(doctorId);
+            }
+            idByEmail.invalidateAll();
+            idsBySpecialization.invalidateAll();
+            log.debug("Evicted directory entry of doctor {}", doctorId);
+        });
+    }
+
+    // For department membership changes, which only touch the entry's department ids
+    public void evictEntryAfterCommit(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> byId.invalidate(doctorId));
+    }
+
+    public DirectoryStats stats() {
+        return new DirectoryStats(byId.stats(), idByEmail.stats(), idsBySpecialization.stats());
+    }
+
+    public record DirectoryStats(CacheStats byId, CacheStats byEmail, CacheStats bySpecialization) {
+    }
+}
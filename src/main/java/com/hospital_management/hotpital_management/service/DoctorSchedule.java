@@ -0,0 +1,29 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+// Roster plus upcoming leave of one doctor; a null roster means no weekly hours were set up
+record DoctorSchedule(WeeklyRoster roster, List<TimeSlot> leaves) {
+
+    boolean hasRoster() {
+        return roster != null;
+    }
+
+    // defaultHours stands in for the roster of doctors without one
+    BitSet dutyMask(LocalDate date, List<TimeSlot> defaultHours) {
+        BitSet mask = roster != null ? roster.day(date.getDayOfWeek()) : MinuteMask.of(date, defaultHours);
+        for (TimeSlot leave : leaves) {
+            MinuteMask.set(mask, date, leave.start(), leave.end(), false);
+        }
+        return mask;
+    }
+
+    boolean overlapsLeave(LocalDateTime from, LocalDateTime to) {
+        return leaves.stream().anyMatch(leave -> leave.start().isBefore(to) && leave.end().isAfter(from));
+    }
+}
@@ -1,13 +1,18 @@
 package com.hospital_management.hotpital_management.service;
 
+import com.hospital_management.hotpital_management.dto.DoctorDirectoryEntry;
+import com.hospital_management.hotpital_management.error.ConstraintViolations;
 import com.hospital_management.hotpital_management.model.Department;
 import com.hospital_management.hotpital_management.model.Doctor;
 import com.hospital_management.hotpital_management.repository.DoctorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -17,13 +22,27 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class DoctorService {
 
+    private static final String EMAIL_CONSTRAINT = "unique_doctor_email";
+
     private final DoctorRepository doctorRepository;
+    private final DoctorDirectoryCache doctorDirectoryCache;
+    private final DepartmentRosterCache departmentRosterCache;
+    private final SpecializationService specializationService;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+    private final AppointmentIntervalIndex appointmentIntervalIndex;
 
     public Doctor createDoctor(Doctor doctor) {
-        if (doctorRepository.existsByEmail(doctor.getEmail())) {
-            throw new IllegalArgumentException("Doctor with email " + doctor.getEmail() + " already exists");
+        doctor.setSpecializationRef(specializationService.resolve(doctor.getSpecialization()).orElse(null));
+        Doctor savedDoctor;
+        try {
+            savedDoctor = doctorRepository.saveAndFlush(doctor);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("Doctor with email " + doctor.getEmail() + " already exists");
+            }
+            throw ex;
         }
-        Doctor savedDoctor = doctorRepository.save(doctor);
+        doctorDirectoryCache.evictDoctorAfterCommit(savedDoctor.getId());
         log.info("Doctor created successfully with ID: {}", savedDoctor.getId());
         return savedDoctor;
     }
@@ -34,6 +53,42 @@ public class DoctorService {
         return doctorRepository.findById(doctorId);
     }
 
+    // Cached snapshot for lookups that only need the doctor's fields, not a managed entity
+    @Transactional(readOnly = true)
+    public Optional<DoctorDirectoryEntry> getDirectoryEntry(Long doctorId) {
+        return doctorDirectoryCache.get(doctorId, () -> doctorRepository.findDirectoryEntry(doctorId)
+                .map(entry -> entry.withDepartmentIds(doctorRepository.findDepartmentIds(doctorId))));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DoctorDirectoryEntry> getDirectoryEntryByEmail(String email) {
+        return doctorDirectoryCache.getIdByEmail(email, () -> doctorRepository.findIdByEmail(email))
+                .flatMap(this::getDirectoryEntry);
+    }
+
+    // Write paths check the database, not the directory, so a stale entry cannot let a dangling reference through
+    @Transactional(readOnly = true)
+    public Doctor getExistingDoctorReference(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + doctorId);
+        }
+        return doctorRepository.getReferenceById(doctorId);
+    }
+
+    public DoctorDirectoryCache.DirectoryStats getDirectoryCacheStats() {
+        return doctorDirectoryCache.stats();
+    }
+
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingDoctorIds(Collection<Long> doctorIds) {
+        log.debug("Checking existence of {} doctors", doctorIds.size());
+        return doctorRepository.findExistingIds(doctorIds);
+    }
+
+    public Doctor getDoctorReference(Long doctorId) {
+        return doctorRepository.getReferenceById(doctorId);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Doctor> getDoctorByEmail(String email) {
         log.debug("Retrieving doctor with email: {}", email);
@@ -49,7 +104,20 @@ public class DoctorService {
     @Transactional(readOnly = true)
     public List<Doctor> getDoctorsBySpecialization(String specialization) {
         log.debug("Finding doctors with specialization: {}", specialization);
-        return doctorRepository.findBySpecializationIgnoreCase(specialization);
+        return specializationService.findId(specialization)
+                .map(doctorRepository::findBySpecializationId)
+                .orElseGet(List::of);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getDoctorIdsBySpecialization(String specialization) {
+        log.debug("Finding doctor IDs with specialization: {}", specialization);
+        if (specialization == null || specialization.isBlank()) {
+            return List.of();
+        }
+        return doctorDirectoryCache.getIdsBySpecialization(specialization, () -> specializationService.findId(specialization)
+                .map(doctorRepository::findIdsBySpecializationId)
+                .orElseGet(List::of));
     }
 
     public Doctor updateDoctor(Long doctorId, Doctor updatedDoctor) {
@@ -69,8 +137,11 @@ public class DoctorService {
         existingDoctor.setName(updatedDoctor.getName());
         existingDoctor.setEmail(updatedDoctor.getEmail());
         existingDoctor.setSpecialization(updatedDoctor.getSpecialization());
+        existingDoctor.setSpecializationRef(specializationService.resolve(updatedDoctor.getSpecialization()).orElse(null));
 
         Doctor savedDoctor = doctorRepository.save(existingDoctor);
+        doctorDirectoryCache.evictDoctorAfterCommit(doctorId);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Doctor updated successfully: {}", savedDoctor.getId());
 
         return savedDoctor;
@@ -86,13 +157,16 @@ public class DoctorService {
 
     @Transactional(readOnly = true)
     public boolean isDoctorAvailable(Long doctorId) {
-        Doctor doctor = doctorRepository.findById(doctorId)
+        DoctorDirectoryEntry doctor = getDirectoryEntry(doctorId)
                 .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
 
-        // TODO: Implement actual availability logic based on appointments
-        // This would typically check against appointment schedules
-        log.debug("Checking availability for doctor: {}", doctor.getName());
-        return true; // Placeholder
+        log.debug("Checking availability for doctor: {}", doctor.name());
+
+        // Available now: on duty for the current minute and not in an appointment
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMinute = now.plusMinutes(1);
+        return doctorAvailabilityService.isOnDuty(doctorId, now, nextMinute)
+                && appointmentIntervalIndex.isSlotFree(doctorId, now, nextMinute, null);
     }
 
     public void deleteDoctor(Long doctorId) {
@@ -103,6 +177,8 @@ public class DoctorService {
 
         // TODO: Check for active appointments
         doctorRepository.delete(doctor);
+        doctorDirectoryCache.evictDoctorAfterCommit(doctorId);
+        departmentRosterCache.invalidateAfterCommit();
         log.info("Doctor deleted successfully: {}", doctorId);
     }
 
@@ -0,0 +1,90 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks the gaps between a doctor's sorted bookings inside the opening hours of each day
+ * and returns the first free slots of the requested length.
+ */
+@Component
+public class FreeSlotFinder {
+
+    @Value("${appointment.slots.day-start:08:00}")
+    private String dayStart;
+
+    @Value("${appointment.slots.day-end:17:00}")
+    private String dayEnd;
+
+    @Value("${appointment.slots.step-minutes:15}")
+    private int stepMinutes;
+
+    public List<TimeSlot> openingHours(LocalDate date) {
+        return List.of(new TimeSlot(date.atTime(LocalTime.parse(dayStart)), date.atTime(LocalTime.parse(dayEnd))));
+    }
+
+    /**
+     * @param bookings     bookings sorted by start time
+     * @param openWindows  non-overlapping windows sorted by start time
+     */
+    public List<TimeSlot> findSlots(List<AppointmentInterval> bookings, List<TimeSlot> openWindows,
+                                    LocalDateTime from, int durationMinutes, int count) {
+        List<TimeSlot> slots = new ArrayList<>();
+        int next = 0;
+
+        for (TimeSlot window : openWindows) {
+            if (slots.size() >= count) {
+                break;
+            }
+            LocalDateTime cursor = alignUp(window.start().isAfter(from) ? window.start() : from);
+
+            // Bookings are sorted by start, so the ones ending before this window never matter again
+            while (next < bookings.size() && !bookings.get(next).end().isAfter(window.start())) {
+                next++;
+            }
+            for (int i = next; i < bookings.size() && bookings.get(i).start().isBefore(window.end()); i++) {
+                AppointmentInterval booking = bookings.get(i);
+                cursor = collect(slots, cursor, earliest(booking.start(), window.end()), durationMinutes, count);
+                if (booking.end().isAfter(cursor)) {
+                    cursor = alignUp(booking.end());
+                }
+            }
+            collect(slots, cursor, window.end(), durationMinutes, count);
+        }
+        return slots;
+    }
+
+    private LocalDateTime collect(List<TimeSlot> slots, LocalDateTime cursor, LocalDateTime gapEnd,
+                                  int durationMinutes, int count) {
+        while (slots.size() < count && !cursor.plusMinutes(durationMinutes).isAfter(gapEnd)) {
+            LocalDateTime end = cursor.plusMinutes(durationMinutes);
+            slots.add(new TimeSlot(cursor, end));
+            cursor = alignUp(end);
+        }
+        return cursor;
+    }
+
+    private LocalDateTime alignUp(LocalDateTime time) {
+        LocalDateTime startOfDay = time.toLocalDate().atStartOfDay();
+        long minutes = ChronoUnit.MINUTES.between(startOfDay, time);
+        boolean exact = startOfDay.plusMinutes(minutes).equals(time) && minutes % stepMinutes == 0;
+        if (exact) {
+            return time;
+        }
+        long aligned = (minutes / stepMinutes + 1) * stepMinutes;
+        return startOfDay.plusMinutes(aligned);
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -1,9 +1,11 @@
 package com.hospital_management.hotpital_management.service;
 
+import com.hospital_management.hotpital_management.error.ConstraintViolations;
 import com.hospital_management.hotpital_management.model.Insurance;
 import com.hospital_management.hotpital_management.repository.InsuranceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +18,20 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class InsuranceService {
 
+    private static final String POLICY_NUMBER_CONSTRAINT = "unique_insurance_policy_number";
+
     private final InsuranceRepository insuranceRepository;
 
     public Insurance createInsurance(Insurance insurance) {
-
-        if (insuranceRepository.existsByPolicyNumber(insurance.getPolicyNumber())) {
-            throw new IllegalArgumentException("Insurance policy already exists: " + insurance.getPolicyNumber());
+        Insurance savedInsurance;
+        try {
+            savedInsurance = insuranceRepository.saveAndFlush(insurance);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, POLICY_NUMBER_CONSTRAINT)) {
+                throw new IllegalArgumentException("Insurance policy already exists: " + insurance.getPolicyNumber());
+            }
+            throw ex;
         }
-
-        Insurance savedInsurance = insuranceRepository.save(insurance);
         log.info("Insurance policy created successfully with ID: {}", savedInsurance.getId());
 
         return savedInsurance;
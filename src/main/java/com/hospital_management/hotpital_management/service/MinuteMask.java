@@ -0,0 +1,75 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Helpers for one-day minute masks: bit {@code m} stands for the minute starting {@code m}
+ * minutes after midnight. A day is 1440 bits, about 180 bytes.
+ */
+final class MinuteMask {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private MinuteMask() {
+    }
+
+    static BitSet empty() {
+        return new BitSet(MINUTES_PER_DAY);
+    }
+
+    static BitSet of(LocalDate date, List<TimeSlot> windows) {
+        BitSet mask = empty();
+        for (TimeSlot window : windows) {
+            set(mask, date, window.start(), window.end(), true);
+        }
+        return mask;
+    }
+
+    // Partial minutes count as whole ones, so a booking or leave never leaves a sliver free
+    static void set(BitSet mask, LocalDate date, LocalDateTime from, LocalDateTime to, boolean value) {
+        int[] range = range(date, from, to);
+        if (range != null) {
+            mask.set(range[0], range[1], value);
+        }
+    }
+
+    static boolean covers(BitSet mask, LocalDate date, LocalDateTime from, LocalDateTime to) {
+        int[] range = range(date, from, to);
+        return range == null || mask.nextClearBit(range[0]) >= range[1];
+    }
+
+    static List<TimeSlot> windows(BitSet mask, LocalDate date) {
+        List<TimeSlot> windows = new ArrayList<>();
+        LocalDateTime midnight = date.atStartOfDay();
+        for (int start = mask.nextSetBit(0); start >= 0 && start < MINUTES_PER_DAY; start = mask.nextSetBit(start)) {
+            int end = Math.min(mask.nextClearBit(start), MINUTES_PER_DAY);
+            windows.add(new TimeSlot(midnight.plusMinutes(start), midnight.plusMinutes(end)));
+            start = end;
+        }
+        return windows;
+    }
+
+    // The part of [from, to) falling on the given day as a minute range, or null when they do not meet
+    private static int[] range(LocalDate date, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime midnight = date.atStartOfDay();
+        LocalDateTime nextMidnight = midnight.plusDays(1);
+        if (!from.isBefore(nextMidnight) || !to.isAfter(midnight) || !to.isAfter(from)) {
+            return null;
+        }
+        int first = from.isAfter(midnight) ? (int) Duration.between(midnight, from).toMinutes() : 0;
+        int last = to.isBefore(nextMidnight) ? ceilMinutes(Duration.between(midnight, to)) : MINUTES_PER_DAY;
+        return new int[]{first, last};
+    }
+
+    private static int ceilMinutes(Duration duration) {
+        long minutes = duration.toMinutes();
+        return (int) (duration.equals(Duration.ofMinutes(minutes)) ? minutes : minutes + 1);
+    }
+}
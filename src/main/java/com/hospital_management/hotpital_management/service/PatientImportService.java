@@ -0,0 +1,291 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital_management.hotpital_management.dto.PatientImportReject;
+import com.hospital_management.hotpital_management.dto.PatientImportResult;
+import com.hospital_management.hotpital_management.importer.BloomFilter;
+import com.hospital_management.hotpital_management.importer.CsvPatientRowReader;
+import com.hospital_management.hotpital_management.importer.ImportFormat;
+import com.hospital_management.hotpital_management.importer.NdjsonPatientRowReader;
+import com.hospital_management.hotpital_management.importer.PatientImportRow;
+import com.hospital_management.hotpital_management.importer.PatientRowReader;
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams a CSV or NDJSON patient file into the database in constant memory.
+ * <p>
+ * Rows are parsed one at a time and checked for duplicates against a Bloom filter seeded with
+ * the email and name + birth date keys already stored; only possible duplicates are confirmed
+ * against the database, with one query per batch. Accepted rows are written with JDBC batch
+ * inserts, one transaction per batch, and every rejected row goes to the reject report as one
+ * NDJSON line.
+ */
+@Slf4j
+@Service
+public class PatientImportService {
+
+    private static final String INSERT_PATIENT = "INSERT INTO patient (name, birth_date, email, gender, blood_group, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final int MAX_NAME_LENGTH = 40;
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int SEED_FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate seedJdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long expectedRows;
+    private final double falsePositiveRate;
+
+    public PatientImportService(DataSource dataSource,
+                                JdbcTemplate jdbcTemplate,
+                                NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                @Value("${patient-import.batch-size:1000}") int batchSize,
+                                @Value("${patient-import.expected-rows:1000000}") long expectedRows,
+                                @Value("${patient-import.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seedJdbcTemplate = new JdbcTemplate(dataSource);
+        this.seedJdbcTemplate.setFetchSize(SEED_FETCH_SIZE);
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.expectedRows = expectedRows;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public PatientImportResult importPatients(InputStream input, ImportFormat format, Writer rejectReport) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        PatientRowReader rows = switch (format) {
+            case CSV -> new CsvPatientRowReader(reader);
+            case NDJSON -> new NdjsonPatientRowReader(reader, objectMapper);
+        };
+
+        ImportRun run = new ImportRun(seedKnownKeys(), rejectReport);
+        PatientImportRow row;
+        while ((row = rows.next()) != null) {
+            run.accept(row);
+        }
+        run.flush();
+
+        PatientImportResult result = new PatientImportResult(run.rowsRead, run.imported, run.rejected);
+        log.info("Patient import finished: {} rows read, {} imported, {} rejected",
+                result.rowsRead(), result.imported(), result.rejected());
+        return result;
+    }
+
+    // Streams every stored key through a forward-only cursor; the cursor only streams inside a transaction
+    private BloomFilter seedKnownKeys() {
+        Long existing = jdbcTemplate.queryForObject("SELECT count(*) FROM patient", Long.class);
+        long expectedKeys = 2 * ((existing != null ? existing : 0) + expectedRows);
+        BloomFilter knownKeys = new BloomFilter(expectedKeys, falsePositiveRate);
+
+        transactionTemplate.executeWithoutResult(status -> seedJdbcTemplate.query(
+                "SELECT email, name, birth_date FROM patient", resultSet -> {
+                    knownKeys.add(emailKey(resultSet.getString("email")));
+                    Date birthDate = resultSet.getDate("birth_date");
+                    if (birthDate != null) {
+                        knownKeys.add(nameKey(resultSet.getString("name"), birthDate.toLocalDate()));
+                    }
+                }));
+        log.info("Seeded patient import filter with {} existing patients", existing);
+        return knownKeys;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+
+    // Rows without a birth date never collide on unique_patient_name_birthdate (NULLs are distinct)
+    private static String nameKey(String name, LocalDate birthDate) {
+        return birthDate == null ? null : "name:" + name + "|" + birthDate;
+    }
+
+    private record Candidate(long line, String name, String email, LocalDate birthDate, String gender,
+                             BloodGroupType bloodGroup, boolean possibleDuplicate) {
+    }
+
+    private final class ImportRun {
+        private final BloomFilter knownKeys;
+        private final Writer rejectReport;
+        private final List<Candidate> pending = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        private ImportRun(BloomFilter knownKeys, Writer rejectReport) {
+            this.knownKeys = knownKeys;
+            this.rejectReport = rejectReport;
+        }
+
+        void accept(PatientImportRow row) throws IOException {
+            rowsRead++;
+            if (row.error() != null) {
+                reject(row.line(), row.email(), row.error());
+                return;
+            }
+            Candidate candidate;
+            try {
+                candidate = validate(row);
+            } catch (IllegalArgumentException ex) {
+                reject(row.line(), row.email(), ex.getMessage());
+                return;
+            }
+            pending.add(candidate);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private Candidate validate(PatientImportRow row) {
+            String name = row.name() != null ? row.name().trim() : "";
+            String email = row.email() != null ? row.email().trim() : "";
+            if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("Name is required and must be at most " + MAX_NAME_LENGTH + " characters");
+            }
+            if (email.isEmpty() || email.length() > MAX_EMAIL_LENGTH || !email.contains("@")) {
+                throw new IllegalArgumentException("A valid email is required");
+            }
+            LocalDate birthDate = null;
+            if (row.birthDate() != null) {
+                try {
+                    birthDate = LocalDate.parse(row.birthDate().trim());
+                } catch (DateTimeParseException ex) {
+                    throw new IllegalArgumentException("Birth date must be an ISO date (yyyy-MM-dd): " + row.birthDate());
+                }
+            }
+            BloodGroupType bloodGroup = null;
+            if (row.bloodGroup() != null) {
+                try {
+                    bloodGroup = BloodGroupType.valueOf(row.bloodGroup().trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Unknown blood group: " + row.bloodGroup());
+                }
+            }
+
+            // A miss proves the keys are new; a hit is confirmed against the database at flush time
+            String emailKey = emailKey(email);
+            String nameKey = nameKey(name, birthDate);
+            boolean possibleDuplicate = knownKeys.mightContain(emailKey)
+                    || (nameKey != null && knownKeys.mightContain(nameKey));
+            knownKeys.add(emailKey);
+            if (nameKey != null) {
+                knownKeys.add(nameKey);
+            }
+            return new Candidate(row.line(), name, email, birthDate, row.gender(), bloodGroup, possibleDuplicate);
+        }
+
+        void flush() throws IOException {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> storedKeys = findStoredKeys(pending.stream().filter(Candidate::possibleDuplicate).toList());
+
+            // Earlier batches are committed, so only this batch needs checking for in-file duplicates
+            Set<String> batchKeys = new HashSet<>();
+            List<Candidate> accepted = new ArrayList<>(pending.size());
+            for (Candidate candidate : pending) {
+                String emailKey = emailKey(candidate.email());
+                String nameKey = nameKey(candidate.name(), candidate.birthDate());
+                if (storedKeys.contains(emailKey)) {
+                    reject(candidate.line(), candidate.email(), "Patient with this email already exists");
+                } else if (nameKey != null && storedKeys.contains(nameKey)) {
+                    reject(candidate.line(), candidate.email(), "Patient with same name and birth date already exists");
+                } else if (!batchKeys.add(emailKey) || (nameKey != null && !batchKeys.add(nameKey))) {
+                    reject(candidate.line(), candidate.email(), "Duplicate of an earlier row in the import");
+                } else {
+                    accepted.add(candidate);
+                }
+            }
+            pending.clear();
+
+            int[] counts = insert(accepted);
+            for (int i = 0; i < counts.length; i++) {
+                // ON CONFLICT DO NOTHING: a concurrent registration took the email or name + birth date
+                if (counts[i] == 0) {
+                    reject(accepted.get(i).line(), accepted.get(i).email(), "Patient already exists");
+                } else {
+                    imported++;
+                }
+            }
+            rejectReport.flush();
+        }
+
+        private Set<String> findStoredKeys(List<Candidate> possibleDuplicates) {
+            Set<String> storedKeys = new HashSet<>();
+            if (possibleDuplicates.isEmpty()) {
+                return storedKeys;
+            }
+            // Object[] elements expand to (name, birth_date) row values
+            List<Object[]> nameBirthDates = possibleDuplicates.stream()
+                    .filter(candidate -> candidate.birthDate() != null)
+                    .map(candidate -> new Object[]{candidate.name(), candidate.birthDate()})
+                    .toList();
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("emails", possibleDuplicates.stream().map(Candidate::email).toList())
+                    .addValue("nameBirthDates", nameBirthDates);
+            String sql = "SELECT email, name, birth_date FROM patient WHERE email IN (:emails)"
+                    + (nameBirthDates.isEmpty() ? "" : " OR (name, birth_date) IN (:nameBirthDates)");
+
+            namedParameterJdbcTemplate.query(sql, params, resultSet -> {
+                storedKeys.add(emailKey(resultSet.getString("email")));
+                Date birthDate = resultSet.getDate("birth_date");
+                if (birthDate != null) {
+                    storedKeys.add(nameKey(resultSet.getString("name"), birthDate.toLocalDate()));
+                }
+            });
+            return storedKeys;
+        }
+
+        private int[] insert(List<Candidate> accepted) {
+            if (accepted.isEmpty()) {
+                return new int[0];
+            }
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_PATIENT, accepted, accepted.size(),
+                    (statement, candidate) -> {
+                        statement.setString(1, candidate.name());
+                        statement.setObject(2, candidate.birthDate());
+                        statement.setString(3, candidate.email());
+                        statement.setString(4, candidate.gender());
+                        statement.setString(5, candidate.bloodGroup() != null ? candidate.bloodGroup().name() : null);
+                        statement.setTimestamp(6, createdAt);
+                    })[0]);
+        }
+
+        private void reject(long line, String email, String reason) throws IOException {
+            rejected++;
+            rejectReport.write(objectMapper.writeValueAsString(new PatientImportReject(line, email, reason)));
+            rejectReport.write('\n');
+        }
+    }
+}
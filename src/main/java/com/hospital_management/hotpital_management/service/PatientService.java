@@ -1,37 +1,61 @@
 package com.hospital_management.hotpital_management.service;
 
+import com.hospital_management.hotpital_management.dto.PatientSearchResult;
+import com.hospital_management.hotpital_management.dto.PatientSummary;
+import com.hospital_management.hotpital_management.dto.PatientSummaryRow;
+import com.hospital_management.hotpital_management.dto.PatientVisit;
+import com.hospital_management.hotpital_management.error.ConstraintViolations;
 import com.hospital_management.hotpital_management.model.Insurance;
 import com.hospital_management.hotpital_management.model.Patient;
+import com.hospital_management.hotpital_management.model.enums.BloodGroupType;
 import com.hospital_management.hotpital_management.repository.PatientRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PatientService {
 
+    // Unique constraints declared on Patient
+    private static final String EMAIL_CONSTRAINT = "unique_patient_email";
+    private static final String NAME_BIRTH_DATE_CONSTRAINT = "unique_patient_name_birthdate";
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int MAX_SUMMARY_VISITS = 50;
+    // pg_trgm needs at least three characters to extract a trigram
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+
     private final PatientRepository patientRepository;
     private final InsuranceService insuranceService;
 
     public Patient createPatient(Patient patient) {
-
-        if (patientRepository.existsByEmail(patient.getEmail())) {
-            throw new IllegalArgumentException("Patient with email" + patient.getEmail() + "already exists.");
-        }
-
-        if (patientRepository.existsByNameAndBirthDate(patient.getName(), patient.getBirthDate())) {
-            throw new IllegalArgumentException("Patient with same name and birth already exists");
+        // Insert straight away: the unique constraints catch duplicates, including concurrent registrations
+        Patient savedPatient;
+        try {
+            savedPatient = patientRepository.saveAndFlush(patient);
+        } catch (DataIntegrityViolationException ex) {
+            if (ConstraintViolations.isViolationOf(ex, EMAIL_CONSTRAINT)) {
+                throw new IllegalArgumentException("Patient with email " + patient.getEmail() + " already exists.");
+            }
+            if (ConstraintViolations.isViolationOf(ex, NAME_BIRTH_DATE_CONSTRAINT)) {
+                throw new IllegalArgumentException("Patient with same name and birth already exists");
+            }
+            throw ex;
         }
-
-        Patient savedPatient = patientRepository.save(patient);
         log.info("Patient created successfully with ID: {}", savedPatient.getId());
 
         return savedPatient;
@@ -43,12 +67,69 @@ public class PatientService {
         return patientRepository.findById(patientId);
     }
 
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingPatientIds(Collection<Long> patientIds) {
+        log.debug("Checking existence of {} patients", patientIds.size());
+        return patientRepository.findExistingIds(patientIds);
+    }
+
+    public Patient getPatientReference(Long patientId) {
+        return patientRepository.getReferenceById(patientId);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Patient> getPatientByEmail(String email) {
         log.debug("Retrieving patient with email: {}", email);
         return patientRepository.findByEmail(email);
     }
 
+    @Transactional(readOnly = true)
+    public PatientSummary getPatientSummary(Long patientId, int maxVisits) {
+        log.debug("Retrieving summary for patient: {}", patientId);
+        if (maxVisits <= 0 || maxVisits > MAX_SUMMARY_VISITS) {
+            throw new IllegalArgumentException("Visit limit must be between 1 and " + MAX_SUMMARY_VISITS);
+        }
+
+        List<PatientSummaryRow> rows = patientRepository.findSummaryRows(
+                patientId, LocalDateTime.now(), Limit.of(maxVisits));
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Patient not found with ID: " + patientId);
+        }
+
+        List<PatientVisit> visits = new ArrayList<>(rows.size());
+        for (PatientSummaryRow row : rows) {
+            // A patient without upcoming appointments comes back as a single row with no appointment columns
+            if (row.appointmentId() != null) {
+                visits.add(new PatientVisit(row.appointmentId(), row.appointmentTime(), row.appointmentEndTime(),
+                        row.appointmentReason(), row.doctorId(), row.doctorName(), row.doctorSpecialization()));
+            }
+        }
+        PatientSummaryRow first = rows.get(0);
+        return new PatientSummary(first.id(), first.name(), first.email(), first.gender(), first.birthDate(),
+                first.bloodGroup(), first.insurancePolicyNumber(), first.insuranceProvider(),
+                first.insuranceValidUntil(), visits);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PatientSearchResult> searchPatients(String query, LocalDate birthDate, BloodGroupType bloodGroup, int limit) {
+        String normalized = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase();
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (limit <= 0 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        String bloodGroupName = bloodGroup != null ? bloodGroup.name() : null;
+        String escaped = escapeLikePattern(normalized);
+
+        log.debug("Searching patients by name: '{}' (limit {})", normalized, limit);
+        if (normalized.length() < MIN_TRIGRAM_QUERY_LENGTH) {
+            return patientRepository.searchByNamePrefix(escaped + "%", birthDate, bloodGroupName, limit);
+        }
+        return patientRepository.searchByNameTrigram(normalized, "%" + escaped + "%", escaped + "%",
+                birthDate, bloodGroupName, limit);
+    }
+
     @Transactional(readOnly = true)
     public List<Patient> getAllPatients() {
         log.debug("Retrieving all patients");
@@ -97,10 +178,13 @@ public class PatientService {
 
     @Transactional(readOnly = true)
     public int calculatePatientAge(Long patientId) {
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + patientId));
+        // Only the birth date column is read; an empty result is either a missing patient or a missing birth date
+        LocalDate birthDate = patientRepository.findBirthDateById(patientId)
+                .orElseThrow(() -> patientRepository.existsById(patientId)
+                        ? new IllegalStateException("Birth date not recorded for patient with ID: " + patientId)
+                        : new IllegalArgumentException("Patient not found with ID: " + patientId));
 
-        return Period.between(patient.getBirthDate(), LocalDate.now()).getYears();
+        return Period.between(birthDate, LocalDate.now()).getYears();
     }
 
     public List<Patient> getPatientsByBirthDateRange(LocalDate startDate, LocalDate endDate) {
@@ -119,4 +203,8 @@ public class PatientService {
         patientRepository.delete(patient);
         log.info("Patient deleted successfully: {}", patientId);
     }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
@@ -0,0 +1,47 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.AgeDistribution;
+import com.hospital_management.hotpital_management.dto.DemographicStatistics;
+import com.hospital_management.hotpital_management.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Dashboard statistics over the patient table. Every figure is a grouped count computed by
+ * the database, so no patient rows are loaded into the application.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PatientStatisticsService {
+
+    private static final int MAX_REGISTRATION_MONTHS = 120;
+
+    private final PatientRepository patientRepository;
+
+    @Transactional(readOnly = true)
+    public DemographicStatistics getDemographicStatistics(int registrationMonths) {
+        if (registrationMonths <= 0 || registrationMonths > MAX_REGISTRATION_MONTHS) {
+            throw new IllegalArgumentException("Registration months must be between 1 and " + MAX_REGISTRATION_MONTHS);
+        }
+        LocalDate today = LocalDate.now();
+        // Current month plus the months before it, from the first of the month
+        LocalDateTime since = today.withDayOfMonth(1).minusMonths(registrationMonths - 1).atStartOfDay();
+        log.debug("Computing demographic statistics as of {} (registrations since {})", today, since);
+
+        AgeDistribution ages = patientRepository.countByAgeBracket(
+                today.minusYears(18), today.minusYears(35), today.minusYears(50), today.minusYears(65));
+
+        return new DemographicStatistics(
+                today,
+                ages,
+                patientRepository.countByBloodGroup(),
+                patientRepository.countByGender(),
+                patientRepository.countRegistrationsPerMonth(since));
+    }
+}
@@ -0,0 +1,75 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.model.Specialization;
+import com.hospital_management.hotpital_management.repository.SpecializationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Catalogue of normalised specializations. Doctors reference a catalogue entry, so
+ * "Cardiology" and " cardiology" resolve to the same id and specialization lookups are an
+ * equality match on an indexed key instead of an upper() scan. Catalogue ids are memoised;
+ * entries are never deleted, so the memo cannot go stale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpecializationService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private final SpecializationRepository specializationRepository;
+    private final Map<String, Long> idsByNormalizedName = new ConcurrentHashMap<>();
+
+    public static String normalize(String specialization) {
+        return displayName(specialization).toLowerCase(Locale.ROOT);
+    }
+
+    private static String displayName(String specialization) {
+        return WHITESPACE.matcher(specialization.trim()).replaceAll(" ");
+    }
+
+    // Unknown names are added to the catalogue; blank names mean no specialization
+    public Optional<Specialization> resolve(String specialization) {
+        if (specialization == null || specialization.isBlank()) {
+            return Optional.empty();
+        }
+        String name = displayName(specialization);
+        String normalized = name.toLowerCase(Locale.ROOT);
+        // Lower-casing can lengthen some characters, so both stored forms are checked
+        if (name.length() > MAX_NAME_LENGTH || normalized.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Specialization must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        Long id = findId(normalized).orElseGet(() -> {
+            if (specializationRepository.insertIfAbsent(name, normalized) > 0) {
+                log.info("Added specialization to catalogue: {}", normalized);
+            }
+            return specializationRepository.findIdByNormalizedName(normalized)
+                    .orElseThrow(() -> new IllegalStateException("Specialization missing after insert: " + normalized));
+        });
+        idsByNormalizedName.putIfAbsent(normalized, id);
+        return Optional.of(specializationRepository.getReferenceById(id));
+    }
+
+    public Optional<Long> findId(String specialization) {
+        if (specialization == null || specialization.isBlank()) {
+            return Optional.empty();
+        }
+        String normalized = normalize(specialization);
+        Long cached = idsByNormalizedName.get(normalized);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> id = specializationRepository.findIdByNormalizedName(normalized);
+        id.ifPresent(found -> idsByNormalizedName.putIfAbsent(normalized, found));
+        return id;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.model.DoctorShift;
+import com.hospital_management.hotpital_management.model.enums.ShiftType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A doctor's recurring week as one minute mask per weekday: working shifts set, breaks
+ * cleared. Shifts running past midnight continue on the next weekday. Immutable.
+ */
+final class WeeklyRoster {
+
+    private final BitSet[] days = new BitSet[DayOfWeek.values().length];
+
+    WeeklyRoster(List<DoctorShift> shifts) {
+        for (int i = 0; i < days.length; i++) {
+            days[i] = MinuteMask.empty();
+        }
+        // Breaks go last so they win over any working shift they overlap
+        shifts.stream().filter(shift -> shift.getType() == ShiftType.WORKING).forEach(shift -> apply(shift, true));
+        shifts.stream().filter(shift -> shift.getType() == ShiftType.BREAK).forEach(shift -> apply(shift, false));
+    }
+
+    BitSet day(DayOfWeek dayOfWeek) {
+        return (BitSet) days[dayOfWeek.ordinal()].clone();
+    }
+
+    private void apply(DoctorShift shift, boolean value) {
+        int start = minuteOfDay(shift.getStartTime());
+        int end = minuteOfDay(shift.getEndTime());
+        BitSet day = days[shift.getDayOfWeek().ordinal()];
+        if (end > start) {
+            day.set(start, end, value);
+            return;
+        }
+        day.set(start, MinuteMask.MINUTES_PER_DAY, value);
+        days[shift.getDayOfWeek().plus(1).ordinal()].set(0, end, value);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+}
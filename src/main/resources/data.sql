@@ -6,8 +6,14 @@ VALUES
 ('Priya Koirala', 'Female', '1999-07-19', 'priya.k@example.com', 'AB_POSITIVE'),
 ('Aarav Thapa', 'Male', '2002-01-10', 'aarav.thapa@example.com', 'O_NEGATIVE');
 
-INSERT INTO doctor (name, specialization, email)
+INSERT INTO specialization (name, normalized_name)
 VALUES
-('Dr. Bishal Kc', 'Cardiology', 'bishal.kc@example.com'),
-('Dr. Sneha Oli', 'Dermatology', 'sneha.oli@example.com'),
-('Dr. Sudan Gurung', 'Urologist', 'sudan.gurung@example.com');
\ No newline at end of file
+('Cardiology', 'cardiology'),
+('Dermatology', 'dermatology'),
+('Urologist', 'urologist');
+
+INSERT INTO doctor (name, specialization, email, specialization_id)
+VALUES
+('Dr. Bishal Kc', 'Cardiology', 'bishal.kc@example.com', (SELECT id FROM specialization WHERE normalized_name = 'cardiology')),
+('Dr. Sneha Oli', 'Dermatology', 'sneha.oli@example.com', (SELECT id FROM specialization WHERE normalized_name = 'dermatology')),
+('Dr. Sudan Gurung', 'Urologist', 'sudan.gurung@example.com', (SELECT id FROM specialization WHERE normalized_name = 'urologist'));
\ No newline at end of file
@@ -0,0 +1,70 @@
+-- Runs after Hibernate has created the tables (defer-datasource-initialization)
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Patient name search: a trigram GIN index serves substring and fuzzy word matches, and a
+-- C-collated lower(name) index serves ordered prefix scans for queries too short for trigrams
+CREATE INDEX idx_patient_name_trgm ON patient USING gin (name gin_trgm_ops);
+CREATE INDEX idx_patient_name_prefix ON patient ((lower(name) COLLATE "C"));
+
+-- Rebuild the (freshly created, empty) appointment table as range-partitioned by month on
+-- appointment_time. Keys and indexes are declared on the parent so every partition inherits
+-- them; the primary key has to include the partition column.
+ALTER TABLE appointment RENAME TO appointment_unpartitioned;
+
+CREATE TABLE appointment (LIKE appointment_unpartitioned INCLUDING DEFAULTS)
+    PARTITION BY RANGE (appointment_time);
+
+DROP TABLE appointment_unpartitioned;
+
+ALTER TABLE appointment
+    ADD COLUMN time_range tsrange GENERATED ALWAYS AS (tsrange(appointment_time, end_time, '[)')) STORED;
+
+ALTER TABLE appointment ADD CONSTRAINT appointment_pkey PRIMARY KEY (id, appointment_time);
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_patient FOREIGN KEY (patient_id) REFERENCES patient (id);
+ALTER TABLE appointment ADD CONSTRAINT fk_appointment_doctor FOREIGN KEY (doctor_id) REFERENCES doctor (id);
+
+CREATE INDEX idx_appointment_time_id ON appointment (appointment_time, id);
+CREATE INDEX idx_appointment_doctor_time_id ON appointment (doctor_id, appointment_time, id);
+CREATE INDEX idx_appointment_patient_time_id ON appointment (patient_id, appointment_time, id);
+
+-- Holds bookings beyond the partitions created so far until the partition job moves them out
+CREATE TABLE appointment_default PARTITION OF appointment DEFAULT;
+
+-- Exclusion constraints cannot span partitions, so each partition carries its own. They back the
+-- overlap queries with a GiST index on (doctor_id, time_range) and reject double-bookings. Bookings
+-- may not run past the end of their month (AppointmentService rejects them), so two overlapping
+-- bookings always share a partition and the per-partition constraint sees them.
+ALTER TABLE appointment_default
+    ADD CONSTRAINT appointment_default_doctor_no_overlap EXCLUDE USING gist (doctor_id WITH =, time_range WITH &&);
+
+-- Creates the partition for the month containing month_start, moving any of its rows out of the
+-- default partition first. Returns false when it already exists. The body is a plain string
+-- literal because the init script runner does not understand dollar quoting.
+CREATE OR REPLACE FUNCTION create_appointment_partition(month_start date) RETURNS boolean AS '
+DECLARE
+    first_day date := date_trunc(''month'', month_start)::date;
+    next_month date := (date_trunc(''month'', month_start) + interval ''1 month'')::date;
+    partition_name text := ''appointment_'' || to_char(month_start, ''YYYY_MM'');
+    column_list text;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    SELECT string_agg(quote_ident(column_name), '', '' ORDER BY ordinal_position) INTO column_list
+    FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = ''appointment'' AND is_generated = ''NEVER'';
+
+    EXECUTE format(''CREATE TABLE %I (LIKE appointment INCLUDING DEFAULTS INCLUDING GENERATED)'', partition_name);
+    EXECUTE format(''ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist (doctor_id WITH =, time_range WITH &&)'',
+                   partition_name, partition_name || ''_doctor_no_overlap'');
+    EXECUTE format(''WITH moved AS (DELETE FROM appointment_default WHERE appointment_time >= %L AND appointment_time < %L RETURNING *) ''
+                   || ''INSERT INTO %I (%s) SELECT %s FROM moved'',
+                   first_day, next_month, partition_name, column_list, column_list);
+    EXECUTE format(''ALTER TABLE appointment ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)'',
+                   partition_name, first_day, next_month);
+    RETURN true;
+END;
+' LANGUAGE plpgsql;
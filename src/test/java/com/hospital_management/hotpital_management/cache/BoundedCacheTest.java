@@ -0,0 +1,96 @@
+package com.hospital_management.hotpital_management.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    private final BoundedCache<Long, String> cache = new BoundedCache<>(100, Duration.ofMinutes(10));
+
+    @Test
+    void storesALoadWhenAnotherKeyIsInvalidatedDuringIt() {
+        cache.get(1L, () -> {
+            // Adjacent Long keys never share a generation stripe
+            cache.invalidate(2L);
+            return "first";
+        });
+
+        assertThat(cache.get(1L, () -> "reloaded")).isEqualTo("first");
+    }
+
+    @Test
+    void dropsALoadWhenItsOwnKeyIsInvalidatedDuringIt() {
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return "stale";
+        });
+
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void dropsALoadWhenTheWholeCacheIsInvalidatedDuringIt() {
+        cache.get(1L, () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntryBeyondCapacity() {
+        BoundedCache<Long, String> small = new BoundedCache<>(2, Duration.ofMinutes(10));
+        small.get(1L, () -> "one");
+        small.get(2L, () -> "two");
+        small.get(1L, () -> "unused");
+        small.get(3L, () -> "three");
+
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(small.get(1L, () -> "reloaded" + loads.incrementAndGet())).isEqualTo("one");
+        assertThat(small.get(2L, () -> "reloaded" + loads.incrementAndGet())).isEqualTo("reloaded1");
+        assertThat(small.stats().evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void bulkLoadsOnlyTheMissingKeysInOneCall() {
+        cache.get(1L, () -> "cached");
+        List<Set<Long>> calls = new ArrayList<>();
+
+        Map<Long, String> values = cache.getAll(List.of(1L, 2L, 3L, 4L), keys -> {
+            calls.add(keys);
+            Map<Long, String> loaded = new HashMap<>();
+            loaded.put(2L, "two");
+            loaded.put(3L, null);
+            loaded.put(99L, "unrequested");
+            return loaded;
+        });
+
+        assertThat(calls).containsExactly(Set.of(2L, 3L, 4L));
+        assertThat(values).containsOnly(Map.entry(1L, "cached"), Map.entry(2L, "two"));
+        assertThat(cache.get(2L, () -> "reloaded")).isEqualTo("two");
+        assertThat(cache.get(3L, () -> "three")).isEqualTo("three");
+        assertThat(cache.get(99L, () -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    void bulkLoadSkipsStoringKeysInvalidatedDuringIt() {
+        Map<Long, String> values = cache.getAll(List.of(1L, 2L), keys -> {
+            cache.invalidate(1L);
+            return Map.of(1L, "stale", 2L, "two");
+        });
+
+        assertThat(values).containsOnly(Map.entry(1L, "stale"), Map.entry(2L, "two"));
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+        assertThat(cache.get(2L, () -> "reloaded")).isEqualTo("two");
+    }
+}
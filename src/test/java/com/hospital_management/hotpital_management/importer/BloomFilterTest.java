@@ -0,0 +1,68 @@
+package com.hospital_management.hotpital_management.importer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedKeyAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("email:patient" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("email:patient" + i + "@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void keepsTheFalsePositiveRateNearTheConfiguredRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("email:patient" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("email:other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void tighterRatesProduceFewerFalsePositives() {
+        BloomFilter loose = new BloomFilter(20_000, 0.05);
+        BloomFilter tight = new BloomFilter(20_000, 0.001);
+        for (int i = 0; i < 20_000; i++) {
+            loose.add("name:Patient " + i + "|1990-01-01");
+            tight.add("name:Patient " + i + "|1990-01-01");
+        }
+
+        int looseHits = 0;
+        int tightHits = 0;
+        for (int i = 0; i < 50_000; i++) {
+            String probe = "name:Other " + i + "|1990-01-01";
+            looseHits += loose.mightContain(probe) ? 1 : 0;
+            tightHits += tight.mightContain(probe) ? 1 : 0;
+        }
+
+        assertThat(tightHits).isLessThan(looseHits);
+        assertThat(tightHits / 50_000.0).isLessThan(0.003);
+    }
+
+    @Test
+    void toleratesAnEmptyExpectedSize() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+        filter.add("email:only@example.com");
+
+        assertThat(filter.mightContain("email:only@example.com")).isTrue();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+}
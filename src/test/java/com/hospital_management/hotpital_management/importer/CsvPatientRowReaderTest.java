@@ -0,0 +1,114 @@
+package com.hospital_management.hotpital_management.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvPatientRowReaderTest {
+
+    @Test
+    void mapsColumnsByHeaderNameInAnyOrder() throws IOException {
+        List<PatientImportRow> rows = readAll("""
+                \uFEFFEmail,NAME,bloodGroup,birthDate,gender
+                ann@example.com,Ann,A_POSITIVE,1990-01-02,FEMALE
+                """);
+
+        assertThat(rows).containsExactly(new PatientImportRow(2, "Ann", "ann@example.com",
+                "1990-01-02", "FEMALE", "A_POSITIVE", null));
+    }
+
+    @Test
+    void readsQuotedCommasEscapedQuotesAndLineBreaks() throws IOException {
+        List<PatientImportRow> rows = readAll("name,email\r\n"
+                + "\"Doe, \"\"JD\"\" John\",jd@example.com\r\n"
+                + "\"Multi\nLine\",ml@example.com\r\n"
+                + "Next,next@example.com\r\n");
+
+        assertThat(rows).extracting(PatientImportRow::name)
+                .containsExactly("Doe, \"JD\" John", "Multi\nLine", "Next");
+        assertThat(rows).extracting(PatientImportRow::line).containsExactly(2L, 3L, 5L);
+        assertThat(rows).allMatch(row -> row.error() == null);
+    }
+
+    @Test
+    void treatsEmptyFieldsAndMissingColumnsAsNull() throws IOException {
+        List<PatientImportRow> rows = readAll("name,email,gender\nAnn,,\nBob\n");
+
+        assertThat(rows.get(0).email()).isNull();
+        assertThat(rows.get(0).gender()).isNull();
+        assertThat(rows.get(1).name()).isEqualTo("Bob");
+        assertThat(rows.get(1).email()).isNull();
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        List<PatientImportRow> rows = readAll("name,email\n\nAnn,ann@example.com\n\n");
+
+        assertThat(rows).extracting(PatientImportRow::line).containsExactly(3L);
+    }
+
+    @Test
+    void rejectsAnOversizedFieldAndContinuesOnTheNextLine() throws IOException {
+        String longName = "x".repeat(5000);
+        List<PatientImportRow> rows = readAll("name,email\n"
+                + longName + ",long@example.com\n"
+                + "Ann,ann@example.com\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).error()).contains("longer than");
+        assertThat(rows.get(1)).isEqualTo(new PatientImportRow(3, "Ann", "ann@example.com",
+                null, null, null, null));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuoteAndReplaysTheFollowingLines() throws IOException {
+        List<PatientImportRow> rows = readAll("name,email\n"
+                + "\"Broken,broken@example.com\n"
+                + "Ann,ann@example.com\n"
+                + "Bob,bob@example.com\n");
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).error()).contains("Unterminated");
+        assertThat(rows.subList(1, 3)).extracting(PatientImportRow::name).containsExactly("Ann", "Bob");
+        assertThat(rows.subList(1, 3)).extracting(PatientImportRow::line).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void rejectsAQuotedFieldThatRunsPastTheLimitAndResyncsAfterItsFirstLine() throws IOException {
+        StringBuilder csv = new StringBuilder("name,email\n\"Runaway,runaway@example.com\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append("Patient").append(i).append(",p").append(i).append("@example.com\n");
+        }
+
+        List<PatientImportRow> rows = readAll(csv.toString());
+
+        assertThat(rows.get(0).error()).contains("longer than");
+        assertThat(rows.subList(1, rows.size())).hasSize(300).allMatch(row -> row.error() == null);
+        assertThat(rows.get(300).name()).isEqualTo("Patient299");
+        assertThat(rows.get(300).line()).isEqualTo(302);
+    }
+
+    @Test
+    void requiresNameAndEmailColumns() {
+        assertThatThrownBy(() -> readAll("name,gender\nAnn,FEMALE\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<PatientImportRow> readAll(String csv) throws IOException {
+        CsvPatientRowReader reader = new CsvPatientRowReader(new StringReader(csv));
+        List<PatientImportRow> rows = new ArrayList<>();
+        PatientImportRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
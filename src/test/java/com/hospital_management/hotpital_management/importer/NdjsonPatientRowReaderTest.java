@@ -0,0 +1,59 @@
+package com.hospital_management.hotpital_management.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonPatientRowReaderTest {
+
+    @Test
+    void readsOneObjectPerLineAndSkipsBlankLines() throws IOException {
+        List<PatientImportRow> rows = readAll("{\"name\":\"Ann\",\"email\":\"ann@example.com\",\"gender\":null}\r\n"
+                + "\n"
+                + "{\"name\":\"Bob\",\"birthDate\":\"1990-01-02\"}");
+
+        assertThat(rows).containsExactly(
+                new PatientImportRow(1, "Ann", "ann@example.com", null, null, null, null),
+                new PatientImportRow(3, "Bob", null, "1990-01-02", null, null, null));
+    }
+
+    @Test
+    void reportsMalformedLinesAndKeepsReading() throws IOException {
+        List<PatientImportRow> rows = readAll("""
+                {"name":
+                [1, 2]
+                {"name":"Ann"}
+                """);
+
+        assertThat(rows).extracting(PatientImportRow::line).containsExactly(1L, 2L, 3L);
+        assertThat(rows.get(0).error()).startsWith("Malformed JSON");
+        assertThat(rows.get(1).error()).isEqualTo("Expected a JSON object");
+        assertThat(rows.get(2).name()).isEqualTo("Ann");
+    }
+
+    @Test
+    void rejectsAnOverlongLineWithoutLosingTheNextOne() throws IOException {
+        String huge = "{\"name\":\"" + "x".repeat(100_000) + "\"}";
+        List<PatientImportRow> rows = readAll(huge + "\n{\"name\":\"Ann\"}\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).startsWith("Line longer than");
+        assertThat(rows.get(1)).isEqualTo(new PatientImportRow(2, "Ann", null, null, null, null, null));
+    }
+
+    private static List<PatientImportRow> readAll(String input) throws IOException {
+        NdjsonPatientRowReader reader = new NdjsonPatientRowReader(new StringReader(input), new ObjectMapper());
+        List<PatientImportRow> rows = new ArrayList<>();
+        PatientImportRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
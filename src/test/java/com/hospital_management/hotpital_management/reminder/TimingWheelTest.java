@@ -0,0 +1,120 @@
+package com.hospital_management.hotpital_management.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    // Ten-millisecond ticks and four buckets per level: levels span 40, 160, 640, ... ms
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 4;
+    private static final long START = 1_000;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesOnTheTickOfTheDeadlineAndNotBefore() {
+        wheel.schedule(START + 30, "a");
+
+        wheel.advanceTo(START + 29, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(START + 30, fired::add);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        wheel.schedule(START + 21, "a");
+
+        wheel.advanceTo(START + 29, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(START + 30, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+
+    @Test
+    void cascadesOverflowingDeadlinesDownToTheirExactTick() {
+        wheel.schedule(START + 50, "level1");
+        wheel.schedule(START + 170, "level2");
+        wheel.schedule(START + 2_000, "level3");
+
+        for (long now = START; now <= START + 2_000; now++) {
+            long elapsed = now - START;
+            wheel.advanceTo(now, item -> fired.add(item + "@" + elapsed));
+        }
+
+        assertThat(fired).containsExactly("level1@50", "level2@170", "level3@2000");
+    }
+
+    @Test
+    void firesEverythingInDeadlineOrderAfterALongPause() {
+        Random random = new Random(42);
+        TimingWheel<Long> longWheel = new TimingWheel<>(TICK, WHEEL_SIZE, START);
+        for (int i = 0; i < 500; i++) {
+            long deadline = START + TICK * (1 + random.nextInt(1_000));
+            longWheel.schedule(deadline, deadline);
+        }
+
+        List<Long> order = new ArrayList<>();
+        longWheel.advanceTo(START + TICK * 1_000, order::add);
+
+        assertThat(order).hasSize(500).isSorted();
+        assertThat(longWheel.size()).isZero();
+    }
+
+    @Test
+    void firesOverdueEntriesOnTheNextAdvance() {
+        wheel.advanceTo(START + 100, fired::add);
+        wheel.schedule(START + 50, "late");
+        wheel.schedule(START + 100, "now");
+
+        wheel.advanceTo(START + 100, fired::add);
+
+        assertThat(fired).containsExactlyInAnyOrder("late", "now");
+    }
+
+    @Test
+    void cancelledEntriesNeverFire() {
+        TimingWheel.Timeout<String> near = wheel.schedule(START + 20, "near");
+        TimingWheel.Timeout<String> far = wheel.schedule(START + 500, "far");
+        wheel.schedule(START + 510, "kept");
+
+        assertThat(wheel.cancel(near)).isTrue();
+        assertThat(wheel.cancel(far)).isTrue();
+        assertThat(wheel.cancel(far)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advanceTo(START + 1_000, fired::add);
+        assertThat(fired).containsExactly("kept");
+    }
+
+    @Test
+    void cannotCancelAnEntryThatAlreadyFired() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule(START + 10, "a");
+        wheel.advanceTo(START + 10, fired::add);
+
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void alignsAnUnalignedStartDownToATick() {
+        TimingWheel<String> unaligned = new TimingWheel<>(TICK, WHEEL_SIZE, START + 7);
+        unaligned.schedule(START + 10, "a");
+
+        unaligned.advanceTo(START + 9, fired::add);
+        assertThat(fired).isEmpty();
+
+        unaligned.advanceTo(START + 10, fired::add);
+        assertThat(fired).containsExactly("a");
+    }
+}
@@ -0,0 +1,128 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.AppointmentInterval;
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeSlotFinderTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+    private final FreeSlotFinder finder = new FreeSlotFinder();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(finder, "dayStart", "08:00");
+        ReflectionTestUtils.setField(finder, "dayEnd", "17:00");
+        ReflectionTestUtils.setField(finder, "stepMinutes", 15);
+    }
+
+    @Test
+    void fillsTheGapsBetweenBookings() {
+        List<TimeSlot> slots = finder.findSlots(
+                List.of(booking(1, at(8, 30), at(9, 0)), booking(2, at(9, 30), at(10, 0))),
+                List.of(window(at(8, 0), at(10, 30))), at(0, 0), 30, 10);
+
+        assertThat(slots).containsExactly(
+                slot(at(8, 0), at(8, 30)),
+                slot(at(9, 0), at(9, 30)),
+                slot(at(10, 0), at(10, 30)));
+    }
+
+    @Test
+    void alignsToTheStepAfterAnUnalignedBookingEndAndStart() {
+        List<TimeSlot> slots = finder.findSlots(
+                List.of(booking(1, at(8, 0), at(8, 20))),
+                List.of(window(at(8, 0), at(9, 50))), at(7, 3), 30, 10);
+
+        assertThat(slots).containsExactly(
+                slot(at(8, 30), at(9, 0)),
+                slot(at(9, 0), at(9, 30)));
+    }
+
+    @Test
+    void startsNoEarlierThanFromRoundedUpToTheStep() {
+        List<TimeSlot> slots = finder.findSlots(List.of(), List.of(window(at(8, 0), at(17, 0))),
+                at(15, 1), 60, 10);
+
+        assertThat(slots).containsExactly(slot(at(15, 15), at(16, 15)));
+    }
+
+    @Test
+    void keepsTheCursorBehindALongBookingThatContainsShorterOnes() {
+        List<TimeSlot> slots = finder.findSlots(
+                List.of(booking(1, at(8, 0), at(11, 0)), booking(2, at(9, 0), at(9, 30))),
+                List.of(window(at(8, 0), at(12, 0))), at(0, 0), 30, 10);
+
+        assertThat(slots).first().isEqualTo(slot(at(11, 0), at(11, 30)));
+        assertThat(slots).hasSize(2);
+    }
+
+    @Test
+    void startsAfterABookingThatBeganBeforeTheWindow() {
+        List<TimeSlot> slots = finder.findSlots(
+                List.of(booking(1, at(7, 0), at(8, 45))),
+                List.of(window(at(8, 0), at(9, 45))), at(0, 0), 30, 10);
+
+        assertThat(slots).containsExactly(slot(at(8, 45), at(9, 15)), slot(at(9, 15), at(9, 45)));
+    }
+
+    @Test
+    void doesNotOfferASlotThatWouldRunPastTheWindow() {
+        List<TimeSlot> slots = finder.findSlots(List.of(),
+                List.of(window(at(8, 0), at(8, 44)), window(at(10, 0), at(10, 30))), at(0, 0), 30, 10);
+
+        assertThat(slots).containsExactly(slot(at(8, 0), at(8, 30)), slot(at(10, 0), at(10, 30)));
+    }
+
+    @Test
+    void runsAcrossMidnightInsideAnOvernightWindow() {
+        LocalDateTime lateEvening = at(23, 40);
+        List<TimeSlot> slots = finder.findSlots(
+                List.of(booking(1, DAY.plusDays(1).atTime(0, 15), DAY.plusDays(1).atTime(0, 50))),
+                List.of(window(at(22, 0), DAY.plusDays(1).atTime(2, 0))), lateEvening, 30, 3);
+
+        assertThat(slots).containsExactly(
+                slot(at(23, 45), DAY.plusDays(1).atTime(0, 15)),
+                slot(DAY.plusDays(1).atTime(1, 0), DAY.plusDays(1).atTime(1, 30)),
+                slot(DAY.plusDays(1).atTime(1, 30), DAY.plusDays(1).atTime(2, 0)));
+    }
+
+    @Test
+    void stopsAtTheRequestedCount() {
+        List<TimeSlot> slots = finder.findSlots(List.of(),
+                List.of(window(at(8, 0), at(17, 0)), window(DAY.plusDays(1).atTime(8, 0), DAY.plusDays(1).atTime(17, 0))),
+                at(0, 0), 15, 3);
+
+        assertThat(slots).hasSize(3).last().isEqualTo(slot(at(8, 30), at(8, 45)));
+    }
+
+    @Test
+    void derivesOpeningHoursFromTheConfiguredDay() {
+        assertThat(finder.openingHours(DAY)).containsExactly(window(at(8, 0), at(17, 0)));
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private static AppointmentInterval booking(long id, LocalDateTime start, LocalDateTime end) {
+        return new AppointmentInterval(id, 1L, start, end);
+    }
+
+    private static TimeSlot window(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlot(start, end);
+    }
+
+    private static TimeSlot slot(LocalDateTime start, LocalDateTime end) {
+        return new TimeSlot(start, end);
+    }
+}
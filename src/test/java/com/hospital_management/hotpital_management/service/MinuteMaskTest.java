@@ -0,0 +1,132 @@
+package com.hospital_management.hotpital_management.service;
+
+import com.hospital_management.hotpital_management.dto.TimeSlot;
+import com.hospital_management.hotpital_management.model.DoctorShift;
+import com.hospital_management.hotpital_management.model.enums.ShiftType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinuteMaskTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Test
+    void setsOnlyThePartOfARangeThatFallsOnTheDay() {
+        BitSet mask = MinuteMask.empty();
+        MinuteMask.set(mask, MONDAY, MONDAY.minusDays(1).atTime(23, 0), MONDAY.atTime(1, 0), true);
+        MinuteMask.set(mask, MONDAY, MONDAY.atTime(23, 30), MONDAY.plusDays(1).atTime(2, 0), true);
+
+        assertThat(MinuteMask.windows(mask, MONDAY)).containsExactly(
+                new TimeSlot(MONDAY.atStartOfDay(), MONDAY.atTime(1, 0)),
+                new TimeSlot(MONDAY.atTime(23, 30), MONDAY.plusDays(1).atStartOfDay()));
+    }
+
+    @Test
+    void roundsPartialMinutesOutwards() {
+        BitSet mask = MinuteMask.empty();
+        MinuteMask.set(mask, MONDAY, MONDAY.atTime(9, 0, 30), MONDAY.atTime(9, 10, 1), true);
+
+        assertThat(MinuteMask.windows(mask, MONDAY))
+                .containsExactly(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(9, 11)));
+    }
+
+    @Test
+    void ignoresRangesOnOtherDaysAndEmptyRanges() {
+        BitSet mask = MinuteMask.empty();
+        MinuteMask.set(mask, MONDAY, MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(10, 0), true);
+        MinuteMask.set(mask, MONDAY, MONDAY.atTime(9, 0), MONDAY.atTime(9, 0), true);
+
+        assertThat(mask.isEmpty()).isTrue();
+        assertThat(MinuteMask.covers(mask, MONDAY, MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(10, 0)))
+                .isTrue();
+    }
+
+    @Test
+    void coversOnlyWhenEveryMinuteIsSet() {
+        BitSet mask = MinuteMask.of(MONDAY, List.of(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(12, 0))));
+
+        assertThat(MinuteMask.covers(mask, MONDAY, MONDAY.atTime(9, 0), MONDAY.atTime(12, 0))).isTrue();
+        assertThat(MinuteMask.covers(mask, MONDAY, MONDAY.atTime(11, 30), MONDAY.atTime(12, 1))).isFalse();
+        assertThat(MinuteMask.covers(mask, MONDAY, MONDAY.atTime(8, 59), MONDAY.atTime(9, 30))).isFalse();
+    }
+
+    @Test
+    void cutsBreaksOutOfWorkingShifts() {
+        WeeklyRoster roster = new WeeklyRoster(List.of(
+                shift(DayOfWeek.MONDAY, "08:00", "16:00", ShiftType.WORKING),
+                shift(DayOfWeek.MONDAY, "12:00", "12:30", ShiftType.BREAK),
+                // Breaks win even when listed before the shift they fall in
+                shift(DayOfWeek.MONDAY, "07:30", "08:15", ShiftType.BREAK)));
+
+        assertThat(MinuteMask.windows(roster.day(DayOfWeek.MONDAY), MONDAY)).containsExactly(
+                new TimeSlot(MONDAY.atTime(8, 15), MONDAY.atTime(12, 0)),
+                new TimeSlot(MONDAY.atTime(12, 30), MONDAY.atTime(16, 0)));
+        assertThat(roster.day(DayOfWeek.TUESDAY).isEmpty()).isTrue();
+    }
+
+    @Test
+    void continuesOvernightShiftsOnTheNextWeekday() {
+        WeeklyRoster roster = new WeeklyRoster(List.of(
+                shift(DayOfWeek.SUNDAY, "22:00", "06:00", ShiftType.WORKING)));
+
+        LocalDate sunday = MONDAY.minusDays(1);
+        assertThat(MinuteMask.windows(roster.day(DayOfWeek.SUNDAY), sunday))
+                .containsExactly(new TimeSlot(sunday.atTime(22, 0), MONDAY.atStartOfDay()));
+        assertThat(MinuteMask.windows(roster.day(DayOfWeek.MONDAY), MONDAY))
+                .containsExactly(new TimeSlot(MONDAY.atStartOfDay(), MONDAY.atTime(6, 0)));
+    }
+
+    @Test
+    void treatsAShiftEndingAtItsStartAsAFullDay() {
+        WeeklyRoster roster = new WeeklyRoster(List.of(
+                shift(DayOfWeek.MONDAY, "00:00", "00:00", ShiftType.WORKING)));
+
+        assertThat(roster.day(DayOfWeek.MONDAY).cardinality()).isEqualTo(MinuteMask.MINUTES_PER_DAY);
+        assertThat(roster.day(DayOfWeek.TUESDAY).isEmpty()).isTrue();
+    }
+
+    @Test
+    void handsOutCopiesSoCallersCannotChangeTheRoster() {
+        WeeklyRoster roster = new WeeklyRoster(List.of(
+                shift(DayOfWeek.MONDAY, "08:00", "16:00", ShiftType.WORKING)));
+
+        roster.day(DayOfWeek.MONDAY).clear();
+
+        assertThat(roster.day(DayOfWeek.MONDAY).cardinality()).isEqualTo(8 * 60);
+    }
+
+    @Test
+    void subtractsLeaveFromTheRosterAndFromDefaultHours() {
+        WeeklyRoster roster = new WeeklyRoster(List.of(
+                shift(DayOfWeek.MONDAY, "08:00", "16:00", ShiftType.WORKING)));
+        List<TimeSlot> leave = List.of(new TimeSlot(MONDAY.minusDays(3).atStartOfDay(), MONDAY.atTime(10, 0)));
+        List<TimeSlot> openingHours = List.of(new TimeSlot(MONDAY.atTime(9, 0), MONDAY.atTime(17, 0)));
+
+        DoctorSchedule rostered = new DoctorSchedule(roster, leave);
+        DoctorSchedule unrostered = new DoctorSchedule(null, leave);
+
+        assertThat(MinuteMask.windows(rostered.dutyMask(MONDAY, List.of()), MONDAY))
+                .containsExactly(new TimeSlot(MONDAY.atTime(10, 0), MONDAY.atTime(16, 0)));
+        assertThat(MinuteMask.windows(unrostered.dutyMask(MONDAY, openingHours), MONDAY))
+                .containsExactly(new TimeSlot(MONDAY.atTime(10, 0), MONDAY.atTime(17, 0)));
+        assertThat(unrostered.overlapsLeave(MONDAY.atTime(9, 30), MONDAY.atTime(10, 30))).isTrue();
+        assertThat(unrostered.overlapsLeave(MONDAY.atTime(10, 0), MONDAY.atTime(10, 30))).isFalse();
+    }
+
+    private static DoctorShift shift(DayOfWeek day, String start, String end, ShiftType type) {
+        return DoctorShift.builder()
+                .dayOfWeek(day)
+                .startTime(LocalTime.parse(start))
+                .endTime(LocalTime.parse(end))
+                .type(type)
+                .build();
+    }
+}